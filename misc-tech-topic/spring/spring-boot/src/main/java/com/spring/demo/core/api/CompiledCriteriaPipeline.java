@@ -0,0 +1,148 @@
+package com.spring.demo.core.api;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+public final class CompiledCriteriaPipeline<R> {
+
+    private static final Object NO_MATCH = new Object();
+
+    private final String[] names;
+
+    private final CriteriaCondition<Object>[] conditions;
+
+    private final CriteriaTransformer<Object, R>[] transformers;
+
+    private CompiledCriteriaPipeline(String[] names, CriteriaCondition<Object>[] conditions, CriteriaTransformer<Object, R>[] transformers) {
+        this.names = names;
+        this.conditions = conditions;
+        this.transformers = transformers;
+    }
+
+    public static final <R> Builder<R> builder() {
+        return new Builder<>();
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public List<R> toList(CriteriaCollection searchCriteria) {
+        List<R> results = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            Object value = resolve(searchCriteria, i);
+            if (value != NO_MATCH) {
+                results.add(apply(i, value));
+            }
+        }
+        return results;
+    }
+
+    public Set<R> toSet(CriteriaCollection searchCriteria) {
+        Set<R> results = new HashSet<>();
+        for (int i = 0; i < names.length; i++) {
+            Object value = resolve(searchCriteria, i);
+            if (value != NO_MATCH) {
+                results.add(apply(i, value));
+            }
+        }
+        return results;
+    }
+
+    public <A> A reduce(CriteriaCollection searchCriteria, A identity, BiFunction<A, ? super R, A> accumulator) {
+        A result = identity;
+        for (int i = 0; i < names.length; i++) {
+            Object value = resolve(searchCriteria, i);
+            if (value != NO_MATCH) {
+                result = accumulator.apply(result, apply(i, value));
+            }
+        }
+        return result;
+    }
+
+    public Optional<R> findFirst(CriteriaCollection searchCriteria) {
+        for (int i = 0; i < names.length; i++) {
+            Object value = resolve(searchCriteria, i);
+            if (value != NO_MATCH) {
+                return Optional.of(apply(i, value));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<R> findAny(CriteriaCollection searchCriteria) {
+        return findFirst(searchCriteria);
+    }
+
+    public long count(CriteriaCollection searchCriteria) {
+        long count = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (resolve(searchCriteria, i) != NO_MATCH) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Object resolve(CriteriaCollection searchCriteria, int index) {
+        String name = names[index];
+        if (!searchCriteria.hasCriteria(name)) {
+            return NO_MATCH;
+        }
+        Object value = searchCriteria.getRaw(name);
+        CriteriaCondition<Object> condition = conditions[index];
+        return (value != null && condition != null && condition.test(value)) ? value : NO_MATCH;
+    }
+
+    private R apply(int index, Object value) {
+        CriteriaTransformer<Object, R> transformer = transformers[index];
+        return transformer == null ? null : transformer.apply(value);
+    }
+
+    public static final class Builder<R> {
+
+        private final List<String> names = new ArrayList<>();
+
+        private final List<CriteriaCondition<Object>> conditions = new ArrayList<>();
+
+        private final List<CriteriaTransformer<Object, R>> transformers = new ArrayList<>();
+
+        private Builder() {}
+
+        public <T> Builder<R> accept(CriteriaDefinition def, CriteriaTransformer<T, R> transformer) {
+            return this.<T>add(def, v -> true, transformer);
+        }
+
+        public <T> Builder<R> acceptOptional(CriteriaDefinition def, CriteriaTransformer<T, Optional<R>> transformer) {
+            return this.<T>add(def, v -> true, v -> transformer.apply(v).orElse(null));
+        }
+
+        public <T> Builder<R> accept(CriteriaDefinition def, CriteriaCondition<T> cond, CriteriaTransformer<T, R> transformer) {
+            return add(def, cond, transformer);
+        }
+
+        public <T> Builder<R> acceptOptional(CriteriaDefinition def, CriteriaCondition<T> cond,
+                        CriteriaTransformer<T, Optional<R>> transformer) {
+            return this.<T>add(def, cond, v -> transformer.apply(v).orElse(null));
+        }
+
+        @SuppressWarnings("unchecked")
+        public CompiledCriteriaPipeline<R> build() {
+            return new CompiledCriteriaPipeline<>(names.toArray(String[]::new), conditions.toArray(CriteriaCondition[]::new),
+                            transformers.toArray(CriteriaTransformer[]::new));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> Builder<R> add(CriteriaDefinition def, CriteriaCondition<T> cond, CriteriaTransformer<T, R> transformer) {
+            names.add(Objects.isNull(def) ? "" : def.name());
+            conditions.add((CriteriaCondition<Object>) cond);
+            transformers.add((CriteriaTransformer<Object, R>) transformer);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.spring.demo.core.api;
+
+public enum CriteriaOperator {
+
+    EQUAL(""),
+    PREFIX("prefix"),
+    FROM("from"),
+    TO("to"),
+    IN("in");
+
+    private static final String SEPARATOR = ".";
+
+    private final String suffix;
+
+    CriteriaOperator(String suffix) {
+        this.suffix = suffix;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    public String key(CriteriaDefinition def) {
+        return suffix.isEmpty() ? def.name() : def.name() + SEPARATOR + suffix;
+    }
+
+    public CriteriaDefinition definition(CriteriaDefinition def) {
+        String name = key(def);
+        return new CriteriaDefinition() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Class<?> type() {
+                return def.type();
+            }
+        };
+    }
+}
@@ -20,6 +20,10 @@ public class CriteriaPipeline<R> {
         return new CriteriaPipeline<>(searchCriteria);
     }
 
+    public static final <R> CompiledCriteriaPipeline.Builder<R> compiled() {
+        return CompiledCriteriaPipeline.builder();
+    }
+
     public <T> CriteriaPipeline<R> accept(CriteriaDefinition def, CriteriaTransformer<T, R> transformer) {
         builder.add(new CriteriaTuple<T, R>(def, v -> true, transformer));
         return this;
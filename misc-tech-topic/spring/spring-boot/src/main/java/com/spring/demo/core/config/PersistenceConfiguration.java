@@ -0,0 +1,116 @@
+package com.spring.demo.core.config;
+
+import com.spring.demo.core.config.support.OptimisticLockRetryInterceptor;
+import com.spring.demo.core.config.support.ReplicaDataSource;
+import com.spring.demo.core.repository.support.SimpleEntityRepository;
+import com.spring.demo.core.service.RetryOnConflict;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.time.Duration;
+import javax.cache.CacheManager;
+import javax.sql.DataSource;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import jakarta.persistence.EntityManagerFactory;
+
+@Configuration
+@EnableJpaRepositories(basePackages = "com.spring.demo.core.repository", repositoryBaseClass = SimpleEntityRepository.class)
+public class PersistenceConfiguration {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor optimisticLockRetryAdvisor(@Value("${persistence.optimistic-lock.max-attempts:3}") int maxAttempts,
+                    @Value("${persistence.optimistic-lock.backoff:PT0.01S}") Duration backoff, ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, RetryOnConflict.class, true),
+                        new OptimisticLockRetryInterceptor(maxAttempts, backoff, meterRegistry::getIfAvailable));
+        // must wrap the transaction advisor, each attempt needs a fresh transaction and persistence context
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+
+    @Bean(name = "secondLevelCacheMetrics")
+    MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        // region statistics come from the cache itself, hibernate statistics stay off outside the statistics profile
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+            if (regionFactory instanceof JCacheRegionFactory jcache) {
+                CacheManager cacheManager = jcache.getCacheManager();
+                for (String name : cacheManager.getCacheNames()) {
+                    // regions hibernate creates on demand ignore the configured defaults, statistics included
+                    cacheManager.enableStatistics(name, true);
+                    JCacheMetrics.monitor(registry, cacheManager.getCache(name));
+                }
+            }
+        };
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "persistence.replica", name = "enabled", havingValue = "true")
+    static class ReplicaRoutingConfiguration {
+
+        @Bean(name = "primaryDataSource")
+        @ConfigurationProperties("spring.datasource.hikari")
+        HikariDataSource primaryDataSource(DataSourceProperties properties) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            dataSource.setPoolName("primary");
+            return dataSource;
+        }
+
+        @Bean(name = "replicaDataSource")
+        @ConfigurationProperties("persistence.replica.hikari")
+        HikariDataSource replicaDataSource(DataSourceProperties properties, @Value("${persistence.replica.url}") String url,
+                        @Value("${persistence.replica.username:${spring.datasource.username:}}") String username,
+                        @Value("${persistence.replica.password:${spring.datasource.password:}}") String password) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                            .url(url).username(username).password(password).build();
+            dataSource.setPoolName("replica");
+            dataSource.setReadOnly(true);
+            return dataSource;
+        }
+
+        @Bean(name = "replicaRoutingDataSource", defaultCandidate = false)
+        ReplicaDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                        @Qualifier("replicaDataSource") DataSource replica,
+                        @Value("${persistence.replica.lag-query:select 0}") String lagQuery,
+                        @Value("${persistence.replica.max-lag:PT5S}") Duration maxLag,
+                        @Value("${persistence.replica.check-interval:PT1S}") Duration checkInterval,
+                        ObjectProvider<MeterRegistry> meterRegistry) {
+            return new ReplicaDataSource(replica, primary, lagQuery, maxLag, checkInterval, meterRegistry::getIfAvailable);
+        }
+
+        @Primary
+        @Bean(name = "dataSource")
+        DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                        @Qualifier("replicaRoutingDataSource") ReplicaDataSource replicaRoutingDataSource,
+                        @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+            if (openInView) {
+                // a request scoped session keeps the connection of its first transaction, a replica one would then serve writes
+                throw new IllegalStateException("Replica routing requires spring.jpa.open-in-view=false");
+            }
+            // the physical connection is fetched on the first statement, after the transaction manager marked it read-only
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+            dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+            return dataSource;
+        }
+    }
+}
@@ -1,16 +1,37 @@
 package com.spring.demo.core.config;
 
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.spring.demo.config.ServletApplicationBean;
+import com.spring.demo.core.config.model.AuthoritySet;
 import com.spring.demo.core.config.model.MutableUserDetails;
+import com.spring.demo.core.config.support.AuthoritySetExpressionHandler;
+import com.spring.demo.core.config.support.CachingPasswordEncoder;
+import com.spring.demo.core.config.support.CaffeineUserCache;
+import com.spring.demo.core.config.support.TimedExpressionParser;
 import com.spring.demo.core.service.PrincipalService;
+import com.spring.demo.core.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -18,17 +39,26 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.annotation.web.configurers.CorsConfigurer;
 import org.springframework.security.config.annotation.web.configurers.CsrfConfigurer;
 import org.springframework.security.config.annotation.web.configurers.FormLoginConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.ui.DefaultLoginPageGeneratingFilter;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,75 +67,58 @@ import jakarta.servlet.http.HttpServletRequest;
 @EnableMethodSecurity
 public class SecurityConfiguration {
 
-    @Order(1)
-    @Bean(name = "h2SecurityFilterChain")
-    SecurityFilterChain h2SecurityFilterChain(HttpSecurity http) throws Exception {
-        return http.securityMatcher("/h2-console", "/h2-console/**")
-                        .authorizeHttpRequests(customizer -> customizer.anyRequest().permitAll())
-                        .formLogin(FormLoginConfigurer<HttpSecurity>::disable)
-                        .httpBasic(AbstractHttpConfigurer::disable)
-                        .build();
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecurityConfiguration.class);
+
+    private static final String TOKEN_KEY_ALGORITHM = "HmacSHA256";
+
+    private static final int TOKEN_KEY_LENGTH = 32;
+
+    @Bean(name = "methodSecurityExpressionHandler")
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        AuthoritySetExpressionHandler expressionHandler = new AuthoritySetExpressionHandler();
+        expressionHandler.setExpressionParser(new TimedExpressionParser(meterRegistry::getIfAvailable));
+        return expressionHandler;
+    }
+
+    @Bean(name = "tokenSigningKey")
+    SecretKey tokenSigningKey(@Value("${security.token.secret:}") String secret) {
+        if (!StringUtils.hasText(secret)) {
+            LOGGER.warn("No security.token.secret configured, issued tokens will not survive a restart");
+            byte[] generated = new byte[TOKEN_KEY_LENGTH];
+            new SecureRandom().nextBytes(generated);
+            return new SecretKeySpec(generated, TOKEN_KEY_ALGORITHM);
+        }
+        byte[] decoded = Base64.getDecoder().decode(secret);
+        if (decoded.length < TOKEN_KEY_LENGTH) {
+            throw new IllegalStateException(String.format("Token secret must be at least %d bytes, got %d", TOKEN_KEY_LENGTH, decoded.length));
+        }
+        return new SecretKeySpec(decoded, TOKEN_KEY_ALGORITHM);
     }
 
-    @Order(2)
-    @Bean(name = "apiSecurityFilterChain")
-    SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
-        return http.securityMatcher("/api/**")
-                        .authorizeHttpRequests(customizer -> customizer.anyRequest().authenticated())
-                        .formLogin(FormLoginConfigurer<HttpSecurity>::disable)
-                        .cors(CorsConfigurer<HttpSecurity>::disable)
-                        .csrf(CsrfConfigurer<HttpSecurity>::disable)
-                        .httpBasic(Customizer.withDefaults())
-                        .build();
+    @Bean(name = "jwtEncoder")
+    JwtEncoder jwtEncoder(SecretKey tokenSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
     }
 
-    @Order(3)
-    @Bean(name = "uiSecurityFilterChain")
-    SecurityFilterChain uiSecurityFilterChain(HttpSecurity http) throws Exception {
-
-        DefaultLoginPageGeneratingFilter defaultLoginPageGeneratingFilter = new DefaultLoginPageGeneratingFilter();
-        defaultLoginPageGeneratingFilter.setResolveHiddenInputs(this::hiddenInputs);
-        defaultLoginPageGeneratingFilter.setLogoutSuccessUrl("/ui/logout");
-        defaultLoginPageGeneratingFilter.setAuthenticationUrl("/ui/login");
-        defaultLoginPageGeneratingFilter.setFailureUrl("/ui/login?error");
-        defaultLoginPageGeneratingFilter.setLoginPageUrl("/ui/login");
-
-        defaultLoginPageGeneratingFilter.setUsernameParameter("username");
-        defaultLoginPageGeneratingFilter.setPasswordParameter("password");
-        defaultLoginPageGeneratingFilter.setFormLoginEnabled(true);
-
-        CorsConfiguration configurationSource = new CorsConfiguration();
-        configurationSource.setAllowedOrigins(List.of("http://www.localhost:8080"));
-        configurationSource.setAllowedMethods(List.of("GET", "POST", "DELETE", "OPTIONS"));
-        configurationSource.setAllowedHeaders(List.of("Content-Type", "X-XSRF-TOKEN"));
-        configurationSource.setAllowCredentials(true);
-
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/ui/**", configurationSource);
-
-        return http.securityMatcher("/ui/**")
-                        .authorizeHttpRequests(customizer -> customizer.anyRequest().authenticated())
-                        .httpBasic(AbstractHttpConfigurer::disable)
-                        .cors(config -> config.configurationSource(source))
-                        .csrf(config -> config.csrfTokenRepository(new CookieCsrfTokenRepository()))
-                        .formLogin(customizer -> {
-                            customizer.loginPage("/ui/login");
-                            customizer.defaultSuccessUrl("/ui/");
-                            customizer.loginProcessingUrl("/ui/login");
-                        })
-                        .addFilterBefore(defaultLoginPageGeneratingFilter, UsernamePasswordAuthenticationFilter.class)
-                        .build();
+    @Bean(name = "jwtDecoder")
+    JwtDecoder jwtDecoder(SecretKey tokenSigningKey) {
+        return NimbusJwtDecoder.withSecretKey(tokenSigningKey).macAlgorithm(TokenService.SIGNING_ALGORITHM).build();
     }
 
-    @Order(100)
-    @Bean(name = "baseSecurityFilterChain")
-    SecurityFilterChain baseSecurityFilterChain(HttpSecurity http) throws Exception {
-        return http.authorizeHttpRequests(customizer -> customizer.anyRequest().permitAll()).build();
+    @Bean(name = "userCache")
+    CaffeineUserCache userCache(@Value("${security.principal-cache.time-to-live:PT5M}") Duration timeToLive,
+                    @Value("${security.principal-cache.maximum-size:10000}") long maximumSize, ObjectProvider<MeterRegistry> meterRegistry) {
+        CaffeineUserCache userCache = new CaffeineUserCache(timeToLive, maximumSize);
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, userCache.getNativeCache(), "principals"));
+        return userCache;
     }
 
     @Bean(name = "userDetailsService")
-    UserDetailsService userDetailsService(PrincipalService principalSerivce) {
-        return name -> principalSerivce.getPrincipal(name).orElseThrow(() -> new UsernameNotFoundException(name));
+    UserDetailsService userDetailsService(PrincipalService principalSerivce, UserCache userCache) {
+        CachingUserDetailsService userDetailsService = new CachingUserDetailsService(
+                        name -> principalSerivce.getPrincipal(name).orElseThrow(() -> new UsernameNotFoundException(name)));
+        userDetailsService.setUserCache(userCache);
+        return userDetailsService;
     }
 
     @Bean(name = "userDetailsPasswordService")
@@ -121,8 +134,11 @@ public class SecurityConfiguration {
 
     @Profile("!local")
     @Bean(name = "passwordEncoder")
-    PasswordEncoder defaultPasswordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    PasswordEncoder defaultPasswordEncoder(@Value("${security.credential-cache.time-to-live:PT1M}") Duration timeToLive,
+                    @Value("${security.credential-cache.maximum-size:10000}") long maximumSize, ObjectProvider<MeterRegistry> meterRegistry) {
+        CachingPasswordEncoder passwordEncoder = new CachingPasswordEncoder(new BCryptPasswordEncoder(12), timeToLive, maximumSize);
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, passwordEncoder.getNativeCache(), "credentials"));
+        return passwordEncoder;
     }
 
     @Profile("local")
@@ -141,8 +157,92 @@ public class SecurityConfiguration {
         };
     }
 
-    private Map<String, String> hiddenInputs(HttpServletRequest request) {
-        CsrfToken token = (CsrfToken) request.getAttribute(CsrfToken.class.getName());
-        return (token != null) ? Collections.singletonMap(token.getParameterName(), token.getToken()) : Collections.emptyMap();
+    static JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName(TokenService.AUTHORITIES_CLAIM);
+        authoritiesConverter.setAuthorityPrefix("");
+
+        JwtAuthenticationConverter authenticationConverter = new JwtAuthenticationConverter();
+        authenticationConverter.setJwtGrantedAuthoritiesConverter(jwt -> AuthoritySet.of(authoritiesConverter.convert(jwt)));
+        return authenticationConverter;
+    }
+
+    @Configuration
+    @ServletApplicationBean
+    static class ServletSecurityConfiguration {
+
+        @Order(1)
+        @Bean(name = "h2SecurityFilterChain")
+        SecurityFilterChain h2SecurityFilterChain(HttpSecurity http) throws Exception {
+            return http.securityMatcher("/h2-console", "/h2-console/**")
+                            .authorizeHttpRequests(customizer -> customizer.anyRequest().permitAll())
+                            .formLogin(FormLoginConfigurer<HttpSecurity>::disable)
+                            .httpBasic(AbstractHttpConfigurer::disable)
+                            .build();
+        }
+
+        @Order(2)
+        @Bean(name = "apiSecurityFilterChain")
+        SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
+            return http.securityMatcher("/api/**")
+                            .authorizeHttpRequests(customizer -> customizer.anyRequest().authenticated())
+                            .formLogin(FormLoginConfigurer<HttpSecurity>::disable)
+                            .cors(CorsConfigurer<HttpSecurity>::disable)
+                            .csrf(CsrfConfigurer<HttpSecurity>::disable)
+                            .sessionManagement(customizer -> customizer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                            .httpBasic(Customizer.withDefaults())
+                            .oauth2ResourceServer(customizer -> customizer
+                                            .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
+                            .build();
+        }
+
+        @Order(3)
+        @Bean(name = "uiSecurityFilterChain")
+        SecurityFilterChain uiSecurityFilterChain(HttpSecurity http) throws Exception {
+
+            DefaultLoginPageGeneratingFilter defaultLoginPageGeneratingFilter = new DefaultLoginPageGeneratingFilter();
+            defaultLoginPageGeneratingFilter.setResolveHiddenInputs(this::hiddenInputs);
+            defaultLoginPageGeneratingFilter.setLogoutSuccessUrl("/ui/logout");
+            defaultLoginPageGeneratingFilter.setAuthenticationUrl("/ui/login");
+            defaultLoginPageGeneratingFilter.setFailureUrl("/ui/login?error");
+            defaultLoginPageGeneratingFilter.setLoginPageUrl("/ui/login");
+
+            defaultLoginPageGeneratingFilter.setUsernameParameter("username");
+            defaultLoginPageGeneratingFilter.setPasswordParameter("password");
+            defaultLoginPageGeneratingFilter.setFormLoginEnabled(true);
+
+            CorsConfiguration configurationSource = new CorsConfiguration();
+            configurationSource.setAllowedOrigins(List.of("http://www.localhost:8080"));
+            configurationSource.setAllowedMethods(List.of("GET", "POST", "DELETE", "OPTIONS"));
+            configurationSource.setAllowedHeaders(List.of("Content-Type", "X-XSRF-TOKEN"));
+            configurationSource.setAllowCredentials(true);
+
+            UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+            source.registerCorsConfiguration("/ui/**", configurationSource);
+
+            return http.securityMatcher("/ui/**")
+                            .authorizeHttpRequests(customizer -> customizer.anyRequest().authenticated())
+                            .httpBasic(AbstractHttpConfigurer::disable)
+                            .cors(config -> config.configurationSource(source))
+                            .csrf(config -> config.csrfTokenRepository(new CookieCsrfTokenRepository()))
+                            .formLogin(customizer -> {
+                                customizer.loginPage("/ui/login");
+                                customizer.defaultSuccessUrl("/ui/");
+                                customizer.loginProcessingUrl("/ui/login");
+                            })
+                            .addFilterBefore(defaultLoginPageGeneratingFilter, UsernamePasswordAuthenticationFilter.class)
+                            .build();
+        }
+
+        @Order(100)
+        @Bean(name = "baseSecurityFilterChain")
+        SecurityFilterChain baseSecurityFilterChain(HttpSecurity http) throws Exception {
+            return http.authorizeHttpRequests(customizer -> customizer.anyRequest().permitAll()).build();
+        }
+
+        private Map<String, String> hiddenInputs(HttpServletRequest request) {
+            CsrfToken token = (CsrfToken) request.getAttribute(CsrfToken.class.getName());
+            return (token != null) ? Collections.singletonMap(token.getParameterName(), token.getToken()) : Collections.emptyMap();
+        }
     }
 }
@@ -0,0 +1,170 @@
+package com.spring.demo.core.config.model;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+public final class AuthoritySet extends AbstractSet<GrantedAuthority> {
+
+    static final int MAXIMUM_INTERNED = 4096;
+
+    private static final int NOT_INTERNED = -1;
+
+    private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+
+    private static final List<GrantedAuthority> INTERNED = new ArrayList<>();
+
+    // j.u.c locks park virtual threads instead of pinning their carrier like a contended monitor does
+    private static final ReadWriteLock INTERNED_LOCK = new ReentrantReadWriteLock();
+
+    private static final AuthoritySet EMPTY = new AuthoritySet(new long[0], new GrantedAuthority[0], Set.of());
+
+    private final long[] bits;
+
+    private final GrantedAuthority[] members;
+
+    private final Set<String> uninterned;
+
+    private AuthoritySet(long[] bits, GrantedAuthority[] members, Set<String> uninterned) {
+        this.bits = bits;
+        this.members = members;
+        this.uninterned = uninterned;
+    }
+
+    public static AuthoritySet empty() {
+        return EMPTY;
+    }
+
+    public static AuthoritySet of(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities instanceof AuthoritySet set) {
+            return set;
+        }
+        return ofGrants(authorities.stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    public static AuthoritySet ofGrants(Collection<String> grants) {
+        return ofGrants(grants, true);
+    }
+
+    public static AuthoritySet lookup(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities instanceof AuthoritySet set) {
+            return set;
+        }
+        return ofGrants(authorities.stream().map(GrantedAuthority::getAuthority).toList(), false);
+    }
+
+    private static AuthoritySet ofGrants(Collection<String> grants, boolean intern) {
+        long[] bits = new long[0];
+        Set<String> uninterned = new LinkedHashSet<>();
+        for (String grant : grants) {
+            if (Objects.isNull(grant)) {
+                continue;
+            }
+            int index = intern ? intern(grant) : INDEXES.getOrDefault(grant, NOT_INTERNED);
+            if (index == NOT_INTERNED) {
+                uninterned.add(grant);
+                continue;
+            }
+            int word = index >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, word + 1);
+            }
+            bits[word] |= 1L << index;
+        }
+        if (bits.length == 0 && uninterned.isEmpty()) {
+            return EMPTY;
+        }
+
+        List<GrantedAuthority> members = new ArrayList<>(grants.size());
+        INTERNED_LOCK.readLock().lock();
+        try {
+            for (int word = 0; word < bits.length; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    members.add(INTERNED.get((word << 6) + Long.numberOfTrailingZeros(remaining)));
+                    remaining &= remaining - 1;
+                }
+            }
+        } finally {
+            INTERNED_LOCK.readLock().unlock();
+        }
+        uninterned.forEach(grant -> members.add(new SimpleGrantedAuthority(grant)));
+        return new AuthoritySet(bits, members.toArray(GrantedAuthority[]::new), uninterned.isEmpty() ? Set.of() : Set.copyOf(uninterned));
+    }
+
+    public boolean hasAuthority(String authority) {
+        Integer index = Objects.isNull(authority) ? null : INDEXES.get(authority);
+        if (Objects.isNull(index)) {
+            return !Objects.isNull(authority) && uninterned.contains(authority);
+        }
+        int word = index >>> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    public boolean hasAnyAuthority(String... authorities) {
+        for (String authority : authorities) {
+            if (hasAuthority(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return (o instanceof GrantedAuthority authority) && hasAuthority(authority.getAuthority());
+    }
+
+    @Override
+    public Iterator<GrantedAuthority> iterator() {
+        return Arrays.asList(members).iterator();
+    }
+
+    @Override
+    public int size() {
+        return members.length;
+    }
+
+    static int internedSize() {
+        INTERNED_LOCK.readLock().lock();
+        try {
+            return INTERNED.size();
+        } finally {
+            INTERNED_LOCK.readLock().unlock();
+        }
+    }
+
+    private static int intern(String grant) {
+        Integer index = INDEXES.get(grant);
+        if (!Objects.isNull(index)) {
+            return index;
+        }
+        INTERNED_LOCK.writeLock().lock();
+        try {
+            index = INDEXES.get(grant);
+            if (!Objects.isNull(index)) {
+                return index;
+            }
+            if (INTERNED.size() >= MAXIMUM_INTERNED) {
+                return NOT_INTERNED;
+            }
+            INTERNED.add(new SimpleGrantedAuthority(grant));
+            INDEXES.put(grant, INTERNED.size() - 1);
+            return INTERNED.size() - 1;
+        } finally {
+            INTERNED_LOCK.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.spring.demo.core.config.support;
+
+import com.spring.demo.core.config.model.AuthoritySet;
+import java.util.Objects;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+public class AuthoritySetExpressionRoot implements MethodSecurityExpressionOperations {
+
+    public final boolean permitAll = true;
+
+    public final boolean denyAll = false;
+
+    private final MethodSecurityExpressionOperations delegate;
+
+    private AuthoritySet authorities;
+
+    public AuthoritySetExpressionRoot(MethodSecurityExpressionOperations delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+        return authorities().hasAuthority(authority);
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        return authorities().hasAnyAuthority(authorities);
+    }
+
+    @Override
+    public boolean hasRole(String role) {
+        return delegate.hasRole(role);
+    }
+
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        return delegate.hasAnyRole(roles);
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return delegate.getAuthentication();
+    }
+
+    public Object getPrincipal() {
+        Authentication authentication = getAuthentication();
+        return Objects.isNull(authentication) ? null : authentication.getPrincipal();
+    }
+
+    @Override
+    public boolean permitAll() {
+        return delegate.permitAll();
+    }
+
+    @Override
+    public boolean denyAll() {
+        return delegate.denyAll();
+    }
+
+    @Override
+    public boolean isAnonymous() {
+        return delegate.isAnonymous();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return delegate.isAuthenticated();
+    }
+
+    @Override
+    public boolean isRememberMe() {
+        return delegate.isRememberMe();
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+        return delegate.isFullyAuthenticated();
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return delegate.hasPermission(target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return delegate.hasPermission(targetId, targetType, permission);
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        delegate.setFilterObject(filterObject);
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return delegate.getFilterObject();
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        delegate.setReturnObject(returnObject);
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return delegate.getReturnObject();
+    }
+
+    @Override
+    public Object getThis() {
+        return delegate.getThis();
+    }
+
+    private AuthoritySet authorities() {
+        if (Objects.isNull(authorities)) {
+            Authentication authentication = getAuthentication();
+            // the authentication may carry fewer authorities than its principal, e.g. run-as or downgraded tokens
+            authorities = Objects.isNull(authentication) ? AuthoritySet.empty() : AuthoritySet.lookup(authentication.getAuthorities());
+        }
+        return authorities;
+    }
+}
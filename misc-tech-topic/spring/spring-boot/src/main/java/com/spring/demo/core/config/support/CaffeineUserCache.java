@@ -0,0 +1,43 @@
+package com.spring.demo.core.config.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.demo.core.config.model.AuthoritySet;
+import com.spring.demo.core.config.model.MutableUserDetails;
+import java.time.Duration;
+import java.util.Objects;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+public class CaffeineUserCache implements UserCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public CaffeineUserCache(Duration timeToLive, long maximumSize) {
+        this.cache = Caffeine.newBuilder().expireAfterWrite(timeToLive).maximumSize(maximumSize).recordStats().build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails cached = cache.getIfPresent(username);
+        return Objects.isNull(cached) ? null : new MutableUserDetails(cached);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), new MutableUserDetails(user.getUsername(), user.getPassword(), AuthoritySet.of(user.getAuthorities())));
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+
+    public void removeAllFromCache() {
+        cache.invalidateAll();
+    }
+
+    public Cache<String, UserDetails> getNativeCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,79 @@
+package com.spring.demo.core.config.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class OptimisticLockRetryInterceptor implements MethodInterceptor {
+
+    public static final String CONFLICT_COUNTER = "persistence.optimistic-lock.conflicts";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OptimisticLockRetryInterceptor.class);
+
+    private final int maxAttempts;
+
+    private final long backoffNanos;
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    public OptimisticLockRetryInterceptor(int maxAttempts, Duration backoff, Supplier<MeterRegistry> meterRegistry) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException(String.format("Invalid max attempts %d, expected a positive value", maxAttempts));
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoffNanos = Objects.isNull(backoff) ? 0L : Math.max(backoff.toNanos(), 0L);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || !(invocation instanceof ProxyMethodInvocation proxied)) {
+            // a conflict inside an enclosing transaction can only be resolved by the caller that owns it
+            return invocation.proceed();
+        }
+        for (int attempt = 1;; attempt++) {
+            try {
+                return proxied.invocableClone().proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    count("exhausted");
+                    throw e;
+                }
+                count("retried");
+                LOGGER.debug("Optimistic lock conflict in {}, attempt {} of {}", invocation.getMethod().getName(), attempt, maxAttempts);
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private void backoff(int attempt, OptimisticLockingFailureException conflict) {
+        if (backoffNanos == 0L) {
+            return;
+        }
+        // jittered linear backoff keeps colliding writers from retrying in lockstep
+        long delay = backoffNanos * attempt / 2 + ThreadLocalRandom.current().nextLong(backoffNanos * attempt / 2 + 1);
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private void count(String outcome) {
+        MeterRegistry registry = meterRegistry.get();
+        if (!Objects.isNull(registry)) {
+            registry.counter(CONFLICT_COUNTER, "outcome", outcome).increment();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.spring.demo.core.config.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Hands out replica connections while the replica keeps up with the primary, and primary connections while it lags behind or
+ * cannot be reached. The lag is measured with the configured query on a background thread once per check interval.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    public static final String CONNECTION_COUNTER = "persistence.replica.connections";
+
+    public static final String LAG_GAUGE = "persistence.replica.lag";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private final DataSource replica;
+
+    private final DataSource primary;
+
+    private final String lagQuery;
+
+    private final double maxLagSeconds;
+
+    private final long checkIntervalNanos;
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    private ScheduledExecutorService probe;
+
+    private volatile String fallback;
+
+    private volatile double lagSeconds;
+
+    public ReplicaDataSource(DataSource replica, DataSource primary, String lagQuery, Duration maxLag, Duration checkInterval,
+                    Supplier<MeterRegistry> meterRegistry) {
+        if (Objects.isNull(maxLag) || maxLag.isNegative()) {
+            throw new IllegalArgumentException(String.format("Invalid max replica lag %s, expected a non-negative duration", maxLag));
+        }
+        if (Objects.isNull(checkInterval) || checkInterval.isNegative() || checkInterval.isZero()) {
+            throw new IllegalArgumentException(
+                            String.format("Invalid replica check interval %s, expected a positive duration", checkInterval));
+        }
+        this.replica = replica;
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toNanos() / 1_000_000_000d;
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        probe = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        probe.scheduleWithFixedDelay(this::checkLag, 0L, checkIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (!Objects.isNull(probe)) {
+            probe.shutdownNow();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(replica::getConnection, primary::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(() -> replica.getConnection(username, password), () -> primary.getConnection(username, password));
+    }
+
+    double lag() {
+        return lagSeconds;
+    }
+
+    void checkLag() {
+        try (Connection connection = replica.getConnection();
+                        Statement statement = connection.createStatement();
+                        ResultSet result = statement.executeQuery(lagQuery)) {
+            lagSeconds = result.next() ? result.getDouble(1) : 0d;
+            register();
+            if (lagSeconds > maxLagSeconds) {
+                fallBack("lagging", null);
+            } else if (!Objects.isNull(fallback)) {
+                LOGGER.info("Replica caught up with {}s lag, routing read-only work back to it", lagSeconds);
+                fallback = null;
+            }
+        } catch (SQLException | RuntimeException e) {
+            fallBack("unavailable", e);
+        }
+    }
+
+    private Connection getConnection(ConnectionSource replicaConnection, ConnectionSource primaryConnection) throws SQLException {
+        String reason = fallback;
+        if (Objects.isNull(reason)) {
+            try {
+                Connection connection = replicaConnection.get();
+                count("replica", "current");
+                return connection;
+            } catch (SQLException e) {
+                reason = fallBack("unavailable", e);
+            }
+        }
+        count("primary", reason);
+        return primaryConnection.get();
+    }
+
+    private String fallBack(String reason, Exception cause) {
+        if (!reason.equals(fallback)) {
+            LOGGER.warn("Replica is {} (lag {}s), routing read-only work to the primary", reason, lagSeconds, cause);
+        }
+        // requests stay on the primary until the next lag check succeeds
+        fallback = reason;
+        return reason;
+    }
+
+    private void register() {
+        MeterRegistry registry = meterRegistry.get();
+        if (!Objects.isNull(registry)) {
+            Gauge.builder(LAG_GAUGE, this, ReplicaDataSource::lag).baseUnit("seconds").register(registry);
+        }
+    }
+
+    private void count(String target, String reason) {
+        MeterRegistry registry = meterRegistry.get();
+        if (!Objects.isNull(registry)) {
+            registry.counter(CONNECTION_COUNTER, "target", target, "reason", reason).increment();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,140 @@
+package com.spring.demo.core.config.support;
+
+import com.spring.demo.core.service.ModelService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    public static final String CALL_TIMER = "service.calls";
+
+    public static final String STATEMENT_SUMMARY = "service.statements";
+
+    public static final String N_PLUS_ONE_COUNTER = "service.n-plus-one";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceMetricsInterceptor.class);
+
+    private static final Set<String> INFRASTRUCTURE_METHODS = Set.of("repository", "converter", "entityClass", "modelClass");
+
+    private static final Set<String> HOOK_PREFIXES = Set.of("before", "after", "validate", "require");
+
+    private final StatementCounter statementCounter;
+
+    private final int repeatedStatementThreshold;
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public ServiceMetricsInterceptor(StatementCounter statementCounter, int repeatedStatementThreshold, Supplier<MeterRegistry> meterRegistry) {
+        if (repeatedStatementThreshold < 2) {
+            throw new IllegalArgumentException(String.format("Invalid repeated statement threshold %d, expected at least 2",
+                            repeatedStatementThreshold));
+        }
+        this.statementCounter = statementCounter;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static StaticMethodMatcherPointcut pointcut() {
+        return new StaticMethodMatcherPointcut() {
+
+            @Override
+            public ClassFilter getClassFilter() {
+                return new RootClassFilter(ModelService.class);
+            }
+
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers())
+                                && method.getDeclaringClass() != Object.class && !INFRASTRUCTURE_METHODS.contains(method.getName())
+                                && HOOK_PREFIXES.stream().noneMatch(method.getName()::startsWith);
+            }
+        };
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.get();
+        if (Objects.isNull(registry)) {
+            return invocation.proceed();
+        }
+        String entity = entity(invocation.getThis());
+        String method = invocation.getMethod().getName();
+        long started = System.nanoTime();
+        String exception = "none";
+        try (StatementCounter.Scope scope = statementCounter.open()) {
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                Meters current = meters.computeIfAbsent(entity + '#' + method, key -> new Meters(registry, entity, method));
+                current.timer(registry, exception).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                current.statements.record(scope.count());
+                detectRepeatedStatements(scope, current, entity, method);
+            }
+        }
+    }
+
+    private void detectRepeatedStatements(StatementCounter.Scope scope, Meters current, String entity, String method) {
+        Map.Entry<String, Integer> repeated = scope.mostRepeated();
+        if (Objects.isNull(repeated) || repeated.getValue() < repeatedStatementThreshold) {
+            return;
+        }
+        current.repeated.increment();
+        LOGGER.warn("Possible N+1 query in {}.{}: {} of {} statements were \"{}\"", entity, method, repeated.getValue(), scope.count(),
+                        repeated.getKey());
+    }
+
+    private static String entity(Object target) {
+        if (target instanceof ModelService<?, ?> service) {
+            return service.entityClass().getSimpleName();
+        }
+        return Objects.isNull(target) ? "unknown" : target.getClass().getSimpleName();
+    }
+
+    private static final class Meters {
+
+        private final String entity;
+
+        private final String method;
+
+        private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+        private final DistributionSummary statements;
+
+        private final Counter repeated;
+
+        Meters(MeterRegistry registry, String entity, String method) {
+            this.entity = entity;
+            this.method = method;
+            this.statements = DistributionSummary.builder(STATEMENT_SUMMARY).baseUnit("statements").tag("entity", entity)
+                            .tag("method", method).register(registry);
+            this.repeated = Counter.builder(N_PLUS_ONE_COUNTER).tag("entity", entity).tag("method", method).register(registry);
+        }
+
+        Timer timer(MeterRegistry registry, String exception) {
+            return timers.computeIfAbsent(exception, key -> Timer.builder(CALL_TIMER).tag("entity", entity).tag("method", method)
+                            .tag("exception", key).register(registry));
+        }
+    }
+}
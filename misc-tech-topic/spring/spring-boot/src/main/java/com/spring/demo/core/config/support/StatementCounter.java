@@ -0,0 +1,60 @@
+package com.spring.demo.core.config.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = current.get(); !Objects.isNull(scope); scope = scope.parent) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    public Scope open() {
+        Scope scope = new Scope(current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+
+        private final Map<String, Integer> statements = new HashMap<>();
+
+        private int count;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public Map.Entry<String, Integer> mostRepeated() {
+            return statements.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+
+        @Override
+        public void close() {
+            if (Objects.isNull(parent)) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+
+        private void record(String sql) {
+            count++;
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+}
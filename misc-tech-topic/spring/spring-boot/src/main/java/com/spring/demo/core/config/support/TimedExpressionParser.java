@@ -0,0 +1,200 @@
+package com.spring.demo.core.config.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+public class TimedExpressionParser implements ExpressionParser {
+
+    public static final String EVALUATION_TIMER = "security.expression.evaluation";
+
+    private final ExpressionParser delegate;
+
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    public TimedExpressionParser(Supplier<MeterRegistry> meterRegistry) {
+        this(new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, TimedExpressionParser.class.getClassLoader())),
+                        meterRegistry);
+    }
+
+    public TimedExpressionParser(ExpressionParser delegate, Supplier<MeterRegistry> meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // parsed expressions are already cached per method by the method security attribute registries
+    @Override
+    public Expression parseExpression(String expressionString) {
+        return new TimedExpression(delegate.parseExpression(expressionString));
+    }
+
+    @Override
+    public Expression parseExpression(String expressionString, ParserContext context) {
+        if (Objects.isNull(context)) {
+            return parseExpression(expressionString);
+        }
+        return delegate.parseExpression(expressionString, context);
+    }
+
+    private final class TimedExpression implements Expression {
+
+        private final Expression delegate;
+
+        private volatile Timer timer;
+
+        TimedExpression(Expression delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getExpressionString() {
+            return delegate.getExpressionString();
+        }
+
+        @Override
+        public Object getValue() {
+            return delegate.getValue();
+        }
+
+        @Override
+        public <T> T getValue(Class<T> desiredResultType) {
+            return delegate.getValue(desiredResultType);
+        }
+
+        @Override
+        public Object getValue(Object rootObject) {
+            return delegate.getValue(rootObject);
+        }
+
+        @Override
+        public <T> T getValue(Object rootObject, Class<T> desiredResultType) {
+            return delegate.getValue(rootObject, desiredResultType);
+        }
+
+        @Override
+        public Object getValue(EvaluationContext context) {
+            return timed(() -> delegate.getValue(context));
+        }
+
+        @Override
+        public Object getValue(EvaluationContext context, Object rootObject) {
+            return timed(() -> delegate.getValue(context, rootObject));
+        }
+
+        @Override
+        public <T> T getValue(EvaluationContext context, Class<T> desiredResultType) {
+            return timed(() -> delegate.getValue(context, desiredResultType));
+        }
+
+        @Override
+        public <T> T getValue(EvaluationContext context, Object rootObject, Class<T> desiredResultType) {
+            return timed(() -> delegate.getValue(context, rootObject, desiredResultType));
+        }
+
+        @Override
+        public Class<?> getValueType() {
+            return delegate.getValueType();
+        }
+
+        @Override
+        public Class<?> getValueType(Object rootObject) {
+            return delegate.getValueType(rootObject);
+        }
+
+        @Override
+        public Class<?> getValueType(EvaluationContext context) {
+            return delegate.getValueType(context);
+        }
+
+        @Override
+        public Class<?> getValueType(EvaluationContext context, Object rootObject) {
+            return delegate.getValueType(context, rootObject);
+        }
+
+        @Override
+        public TypeDescriptor getValueTypeDescriptor() {
+            return delegate.getValueTypeDescriptor();
+        }
+
+        @Override
+        public TypeDescriptor getValueTypeDescriptor(Object rootObject) {
+            return delegate.getValueTypeDescriptor(rootObject);
+        }
+
+        @Override
+        public TypeDescriptor getValueTypeDescriptor(EvaluationContext context) {
+            return delegate.getValueTypeDescriptor(context);
+        }
+
+        @Override
+        public TypeDescriptor getValueTypeDescriptor(EvaluationContext context, Object rootObject) {
+            return delegate.getValueTypeDescriptor(context, rootObject);
+        }
+
+        @Override
+        public boolean isWritable(Object rootObject) {
+            return delegate.isWritable(rootObject);
+        }
+
+        @Override
+        public boolean isWritable(EvaluationContext context) {
+            return delegate.isWritable(context);
+        }
+
+        @Override
+        public boolean isWritable(EvaluationContext context, Object rootObject) {
+            return delegate.isWritable(context, rootObject);
+        }
+
+        @Override
+        public void setValue(Object rootObject, Object value) {
+            delegate.setValue(rootObject, value);
+        }
+
+        @Override
+        public void setValue(EvaluationContext context, Object value) {
+            delegate.setValue(context, value);
+        }
+
+        @Override
+        public void setValue(EvaluationContext context, Object rootObject, Object value) {
+            delegate.setValue(context, rootObject, value);
+        }
+
+        private <T> T timed(Supplier<T> evaluation) {
+            Timer current = timer();
+            if (Objects.isNull(current)) {
+                return evaluation.get();
+            }
+            long started = System.nanoTime();
+            try {
+                return evaluation.get();
+            } finally {
+                current.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Timer timer() {
+            Timer current = timer;
+            if (Objects.isNull(current)) {
+                MeterRegistry registry = meterRegistry.get();
+                if (Objects.isNull(registry)) {
+                    return null;
+                }
+                current = Timer.builder(EVALUATION_TIMER).tag("expression", delegate.getExpressionString()).register(registry);
+                timer = current;
+            }
+            return current;
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.spring.demo.core.converter;
 
+import com.spring.demo.core.config.model.AuthoritySet;
 import com.spring.demo.core.config.model.MutableUserDetails;
 import com.spring.demo.core.entity.AuthorityEntity;
+import com.spring.demo.core.entity.RoleEntity;
 import com.spring.demo.core.entity.UserEntity;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -14,6 +17,16 @@ import org.springframework.util.StringUtils;
 @Component
 public class PrincipalConverter implements ModelConverter<UserEntity, UserDetails> {
 
+    private final Map<Long, AuthoritySet> roleAuthorities = new ConcurrentHashMap<>();
+
+    public void evictRole(Long roleId) {
+        if (Objects.isNull(roleId)) {
+            roleAuthorities.clear();
+        } else {
+            roleAuthorities.remove(roleId);
+        }
+    }
+
     @Override
     public UserEntity convertFrom(UserDetails model) {
         return new UserEntity(model.getUsername(), model.getPassword(), null);
@@ -21,15 +34,11 @@ public class PrincipalConverter implements ModelConverter<UserEntity, UserDetail
 
     @Override
     public UserDetails convertFrom(UserEntity entity) {
+        final AuthoritySet authorities = authoritiesOf(entity.getRole());
         return new UserDetails() {
             @Override
             public Collection<? extends GrantedAuthority> getAuthorities() {
-                return entity.getRole()
-                                .getAuthorities()
-                                .stream()
-                                .map(AuthorityEntity::getGrant)
-                                .map(SimpleGrantedAuthority::new)
-                                .collect(Collectors.toUnmodifiableSet());
+                return authorities;
             }
 
             @Override
@@ -63,4 +72,20 @@ public class PrincipalConverter implements ModelConverter<UserEntity, UserDetail
         return this;
     }
 
+    private AuthoritySet authoritiesOf(RoleEntity role) {
+        if (Objects.isNull(role)) {
+            return AuthoritySet.empty();
+        }
+        if (Objects.isNull(role.getId())) {
+            return collectAuthorities(role);
+        }
+        return roleAuthorities.computeIfAbsent(role.getId(), id -> collectAuthorities(role));
+    }
+
+    private static AuthoritySet collectAuthorities(RoleEntity role) {
+        if (Objects.isNull(role.getAuthorities())) {
+            return AuthoritySet.empty();
+        }
+        return AuthoritySet.ofGrants(role.getAuthorities().stream().map(AuthorityEntity::getGrant).toList());
+    }
 }
@@ -1,23 +1,42 @@
 package com.spring.demo.core.entity;
 
+import java.time.Instant;
 import java.util.Objects;
+import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
 
 @MappedSuperclass
 public abstract class AbstractAuditedEntity extends AbstractEntity {
 
+    @Version
+    @Column(name = "version", nullable = false)
+    protected long version;
+
+    @Column(name = "last_modified", nullable = false)
+    protected Instant lastModified;
+
     protected AbstractAuditedEntity() {
         // require a default safe constructor
     }
 
-    protected AbstractAuditedEntity(Long id) {
-        super(id);
+    @Override
+    public abstract AbstractAuditedEntity setId(Long id);
+
+    public long getVersion() {
+        return version;
     }
 
-    @Override
-    public AbstractAuditedEntity setId(Long id) {
-        super.setId(id);
-        return this;
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        lastModified = Instant.now();
     }
 
     @Override
@@ -27,7 +46,7 @@ public abstract class AbstractAuditedEntity extends AbstractEntity {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Objects.hash(getId());
     }
 
     @Override
@@ -39,6 +58,6 @@ public abstract class AbstractAuditedEntity extends AbstractEntity {
             return false;
         }
         AbstractAuditedEntity other = (AbstractAuditedEntity) obj;
-        return Objects.equals(id, other.id);
+        return Objects.equals(getId(), other.getId());
     }
 }
@@ -2,18 +2,31 @@ package com.spring.demo.core.entity;
 
 import java.util.Objects;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "authorities")
-@SequenceGenerator(name = "AUTH_SEQ", initialValue = 1, allocationSize = 1)
 public class AuthorityEntity extends AbstractAuditedEntity {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auth_seq")
+    @SequenceGenerator(name = "auth_seq", sequenceName = "auth_seq", allocationSize = ID_ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false, updatable = false, insertable = true, unique = true)
+    private Long id;
+
     @Column(name = "name", nullable = false, updatable = false, insertable = true, unique = true, length = 32)
     private String name;
 
@@ -28,7 +41,7 @@ public class AuthorityEntity extends AbstractAuditedEntity {
     }
 
     public AuthorityEntity(Long id, String name, String grant) {
-        super(id);
+        this.id = id;
         this.name = name;
         this.grant = grant;
     }
@@ -37,6 +50,17 @@ public class AuthorityEntity extends AbstractAuditedEntity {
         this(null, name, grant);
     }
 
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public AuthorityEntity setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
     public String getName() {
         return name;
     }
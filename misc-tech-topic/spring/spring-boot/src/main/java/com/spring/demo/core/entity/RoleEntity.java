@@ -2,10 +2,16 @@ package com.spring.demo.core.entity;
 
 import java.util.Objects;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -14,16 +20,24 @@ import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "roles")
-@SequenceGenerator(name = "ROLES_SEQ", initialValue = 1, allocationSize = 50)
 public class RoleEntity extends AbstractAuditedEntity {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = ID_ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false, updatable = false, insertable = true, unique = true)
+    private Long id;
+
     @Column(name = "name", unique = true, insertable = true, updatable = true, nullable = false, length = 32)
     private String name;
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "role")
     private Set<UserEntity> users;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.PERSIST)
     @JoinTable(name = "role_authority", joinColumns = @JoinColumn(name = "role_id"),
                     inverseJoinColumns = @JoinColumn(name = "authority_id"))
@@ -34,7 +48,7 @@ public class RoleEntity extends AbstractAuditedEntity {
     }
 
     public RoleEntity(Long id, String name, Set<AuthorityEntity> authorities) {
-        super(id);
+        this.id = id;
         this.name = name;
         this.authorities = authorities;
     }
@@ -43,6 +57,17 @@ public class RoleEntity extends AbstractAuditedEntity {
         this(null, name, authorities);
     }
 
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public RoleEntity setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
     public String getName() {
         return name;
     }
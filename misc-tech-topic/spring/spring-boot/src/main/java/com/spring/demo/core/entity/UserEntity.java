@@ -5,6 +5,9 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.SequenceGenerator;
@@ -12,9 +15,14 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "users")
-@SequenceGenerator(name = "USERS_SEQ", initialValue = 1, allocationSize = 50)
 public class UserEntity extends AbstractAuditedEntity {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false, updatable = false, insertable = true, unique = true)
+    private Long id;
+
     @Column(name = "username", unique = true, updatable = false, insertable = true, nullable = false, length = 64)
     private String username;
 
@@ -34,12 +42,23 @@ public class UserEntity extends AbstractAuditedEntity {
     }
 
     public UserEntity(Long id, String name, String password, RoleEntity role) {
-        super(id);
+        this.id = id;
         this.username = name;
         this.password = password;
         this.role = role;
     }
 
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public UserEntity setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
     public String getUsername() {
         return username;
     }
@@ -3,14 +3,22 @@ package com.spring.demo.core.entity;
 import java.util.Objects;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "videos")
-@SequenceGenerator(name = "VIDEOS_SEQ", initialValue = 1, allocationSize = 1)
 public class VideoEntity extends AbstractAuditedEntity {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "videos_seq")
+    @SequenceGenerator(name = "videos_seq", sequenceName = "videos_seq", allocationSize = ID_ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false, updatable = false, insertable = true, unique = true)
+    private Long id;
+
     @Column(name = "name", unique = true, updatable = true, insertable = true, nullable = false, length = 128)
     private String name;
 
@@ -22,7 +30,7 @@ public class VideoEntity extends AbstractAuditedEntity {
     }
 
     public VideoEntity(Long id, String name, String description) {
-        super(id);
+        this.id = id;
         this.name = name;
         this.description = description;
     }
@@ -31,6 +39,17 @@ public class VideoEntity extends AbstractAuditedEntity {
         this(null, name, description);
     }
 
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public VideoEntity setId(Long id) {
+        this.id = id;
+        return this;
+    }
+
     public String getName() {
         return name;
     }
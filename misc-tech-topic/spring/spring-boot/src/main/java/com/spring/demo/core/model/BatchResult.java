@@ -0,0 +1,19 @@
+package com.spring.demo.core.model;
+
+import java.util.List;
+import java.util.Objects;
+
+public record BatchResult<M>(List<M> content, List<Failure> failures) {
+
+    public record Failure(int index, Long id, String message) {
+
+        public static Failure of(int index, Long id, RuntimeException cause) {
+            String message = cause.getMessage();
+            return new Failure(index, id, Objects.isNull(message) ? cause.getClass().getSimpleName() : message);
+        }
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
@@ -0,0 +1,33 @@
+package com.spring.demo.core.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<M>(List<M> content, String next, Long total) {
+
+    public boolean hasNext() {
+        return !Objects.isNull(next);
+    }
+
+    public static String encode(long id) {
+        byte[] bytes = ByteBuffer.allocate(Long.BYTES).putLong(id).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static long decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Malformed cursor %s", cursor), e);
+        }
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException(String.format("Malformed cursor %s", cursor));
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
@@ -0,0 +1,9 @@
+package com.spring.demo.core.model;
+
+import java.util.List;
+
+public record ImportReport(long accepted, long rejected, long elapsedMillis, double rowsPerSecond, List<Rejection> rejections) {
+
+    public record Rejection(long line, String message) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.spring.demo.core.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public record ResourceVersion(long count, long version, Instant lastModified) {
+
+    public String etag() {
+        return String.format("\"%d\"", version);
+    }
+
+    public String weakEtag() {
+        return String.format("W/\"%d-%d-%d\"", count, version, lastModifiedMillis());
+    }
+
+    public long lastModifiedMillis() {
+        return Objects.isNull(lastModified) ? -1L : lastModified.toEpochMilli();
+    }
+}
@@ -15,8 +15,8 @@ public class SearchCriteria implements CriteriaCollection {
 
     private SearchCriteria() {}
 
-    private SearchCriteria(Map<String, Object> criteria) {
-        for (Map.Entry<String, Object> values : criteria.entrySet()) {
+    private SearchCriteria(Map<String, ?> criteria) {
+        for (Map.Entry<String, ?> values : criteria.entrySet()) {
             addCriteria(values.getKey(), values.getValue());
         }
     }
@@ -25,7 +25,7 @@ public class SearchCriteria implements CriteriaCollection {
         return new SearchCriteria();
     }
 
-    public static final CriteriaCollection of(Map<String, Object> criteria) {
+    public static final CriteriaCollection of(Map<String, ?> criteria) {
         Objects.requireNonNull(criteria, "The criteria values can not be empty");
         return new SearchCriteria(criteria);
     }
@@ -0,0 +1,4 @@
+package com.spring.demo.core.model;
+
+public record TokenModel(String accessToken, String tokenType, long expiresIn) {
+}
@@ -0,0 +1,6 @@
+package com.spring.demo.core.model;
+
+import org.springframework.data.domain.Page;
+
+public record VersionedPage<M>(Page<M> page, ResourceVersion version) {
+}
@@ -1,7 +1,41 @@
 package com.spring.demo.core.repository;
 
 import com.spring.demo.core.entity.AbstractEntity;
+import com.spring.demo.core.model.ResourceVersion;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
-public interface EntityRepository<T extends AbstractEntity> extends JpaRepository<T, Long> {
+@NoRepositoryBean
+public interface EntityRepository<T extends AbstractEntity> extends JpaRepository<T, Long>, JpaSpecificationExecutor<T> {
+
+    @NonNull
+    Slice<T> findSlice(@Nullable Specification<T> spec, @NonNull Pageable pageable);
+
+    @NonNull
+    Stream<T> stream(@Nullable Specification<T> spec, @NonNull Sort sort, int fetchSize);
+
+    @NonNull
+    Optional<ResourceVersion> findVersion(@NonNull Long id);
+
+    @NonNull
+    List<Long> findExistingIds(@NonNull Collection<Long> ids);
+
+    int deleteByIdInBatch(@NonNull Long id);
+
+    int deleteAllByIdsInBatch(@NonNull Collection<Long> ids);
+
+    void detach(@NonNull T entity);
+
+    void evict(@Nullable Long id);
 }
@@ -2,8 +2,12 @@ package com.spring.demo.core.repository;
 
 import com.spring.demo.core.entity.RoleEntity;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 
 public interface RoleRepository extends EntityRepository<RoleEntity> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<RoleEntity> findByName(String name);
 }
@@ -3,10 +3,16 @@ package com.spring.demo.core.repository;
 import com.spring.demo.core.entity.VideoEntity;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface VideoRepository extends EntityRepository<VideoEntity> {
@@ -14,6 +20,10 @@ public interface VideoRepository extends EntityRepository<VideoEntity> {
     @NonNull
     Page<VideoEntity> findAll(@NonNull Pageable pageable);
 
+    @NonNull
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<VideoEntity> findAllByIdGreaterThanOrderByIdAsc(@NonNull Long id, @NonNull Limit limit);
+
     @NonNull
     Optional<VideoEntity> findByName(@NonNull String name);
 
@@ -26,5 +36,17 @@ public interface VideoRepository extends EntityRepository<VideoEntity> {
     @NonNull
     List<VideoEntity> findAllByDescriptionContaining(@NonNull String name);
 
+    @NonNull
+    @QueryHints(value = @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"), forCounting = false)
+    @Query(value = """
+                    SELECT v.* FROM videos v
+                    WHERE v.search_vector @@ websearch_to_tsquery('english', :query)
+                    ORDER BY ts_rank(v.search_vector, websearch_to_tsquery('english', :query)) DESC, v.id ASC
+                    """, countQuery = """
+                    SELECT count(*) FROM videos v
+                    WHERE v.search_vector @@ websearch_to_tsquery('english', :query)
+                    """, nativeQuery = true)
+    Page<VideoEntity> findAllByText(@NonNull @Param("query") String query, @NonNull Pageable pageable);
+
     void deleteAllByName(@NonNull String name);
 }
@@ -0,0 +1,152 @@
+package com.spring.demo.core.repository.support;
+
+import com.spring.demo.core.entity.AbstractAuditedEntity;
+import com.spring.demo.core.entity.AbstractEntity;
+import com.spring.demo.core.model.ResourceVersion;
+import com.spring.demo.core.repository.EntityRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.Cache;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.PluralAttribute;
+
+public class SimpleEntityRepository<T extends AbstractEntity> extends SimpleJpaRepository<T, Long> implements EntityRepository<T> {
+
+    private final EntityManager entityManager;
+
+    public SimpleEntityRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+    }
+
+    @NonNull
+    @Override
+    public Slice<T> findSlice(@Nullable Specification<T> spec, @NonNull Pageable pageable) {
+        TypedQuery<T> query = getQuery(spec, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        query.setMaxResults(pageable.getPageSize() + 1);
+
+        List<T> content = query.getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @NonNull
+    @Override
+    public Stream<T> stream(@Nullable Specification<T> spec, @NonNull Sort sort, int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid fetch size %d, expected a positive value", fetchSize));
+        }
+        TypedQuery<T> query = getQuery(spec, sort);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        // streamed entities are only read, skip the dirty checking snapshot even inside a read-write transaction
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
+
+    @NonNull
+    @Override
+    public Optional<ResourceVersion> findVersion(@NonNull Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ResourceVersion> query = cb.createQuery(ResourceVersion.class);
+        Root<T> root = query.from(requireVersioned());
+        query.select(cb.construct(ResourceVersion.class, cb.literal(1L), root.<Long>get("version"), root.<Instant>get("lastModified")))
+                        .where(cb.equal(root.get("id"), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @NonNull
+    @Override
+    public List<Long> findExistingIds(@NonNull Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(String.format("select e.id from %s e where e.id in :ids", entityName()), Long.class)
+                        .setParameter("ids", ids).getResultList();
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIdInBatch(@NonNull Long id) {
+        return entityManager.createQuery(String.format("delete from %s e where e.id = :id", entityName())).setParameter("id", id)
+                        .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllByIdsInBatch(@NonNull Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return entityManager.createQuery(String.format("delete from %s e where e.id in :ids", entityName())).setParameter("ids", ids)
+                        .executeUpdate();
+    }
+
+    @Override
+    public void detach(@NonNull T entity) {
+        entityManager.detach(entity);
+    }
+
+    @Override
+    public void evict(@Nullable Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        String owner = getDomainClass().getName();
+        for (PluralAttribute<? super T, ?, ?> attribute : entityManager.getMetamodel().entity(getDomainClass()).getPluralAttributes()) {
+            String role = owner + "." + attribute.getName();
+            if (Objects.isNull(id)) {
+                cache.evictCollectionData(role);
+            } else {
+                cache.evictCollectionData(role, id);
+            }
+        }
+        // collections of other entities holding this one are keyed by their owner, so their whole region goes
+        for (EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+            for (PluralAttribute<?, ?, ?> attribute : entity.getPluralAttributes()) {
+                if (attribute.getElementType().getJavaType().equals(getDomainClass())) {
+                    cache.evictCollectionData(entity.getJavaType().getName() + "." + attribute.getName());
+                }
+            }
+        }
+        if (Objects.isNull(id)) {
+            cache.evictEntityData(getDomainClass());
+        } else {
+            cache.evictEntityData(getDomainClass(), id);
+        }
+    }
+
+    private String entityName() {
+        return entityManager.getMetamodel().entity(getDomainClass()).getName();
+    }
+
+    private Class<T> requireVersioned() {
+        Class<T> domainClass = getDomainClass();
+        if (!AbstractAuditedEntity.class.isAssignableFrom(domainClass)) {
+            throw new UnsupportedOperationException(String.format("Entity %s is not versioned", domainClass.getSimpleName()));
+        }
+        return domainClass;
+    }
+}
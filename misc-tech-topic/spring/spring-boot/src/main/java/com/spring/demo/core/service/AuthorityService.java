@@ -2,10 +2,12 @@ package com.spring.demo.core.service;
 
 import com.spring.demo.core.converter.AuthorityConverter;
 import com.spring.demo.core.converter.ModelConverter;
+import com.spring.demo.core.converter.PrincipalConverter;
 import com.spring.demo.core.entity.AuthorityEntity;
 import com.spring.demo.core.model.AuthorityModel;
 import com.spring.demo.core.repository.AuthorityRepository;
 import com.spring.demo.core.repository.EntityRepository;
+import com.spring.demo.core.service.support.AfterCommit;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,10 +15,25 @@ public class AuthorityService implements ModelService<AuthorityEntity, Authority
 
     private final AuthorityRepository authorityRepository;
     private final AuthorityConverter authorityConverter;
+    private final PrincipalConverter principalConverter;
 
-    public AuthorityService(AuthorityRepository authorityRepository, AuthorityConverter authorityConverter) {
+    public AuthorityService(AuthorityRepository authorityRepository, AuthorityConverter authorityConverter,
+                    PrincipalConverter principalConverter) {
         this.authorityRepository = authorityRepository;
         this.authorityConverter = authorityConverter;
+        this.principalConverter = principalConverter;
+    }
+
+    @Override
+    public void afterUpdateEntity(AuthorityEntity saved) {
+        authorityRepository.evict(saved.getId());
+        AfterCommit.run(() -> principalConverter.evictRole(null));
+    }
+
+    @Override
+    public void afterDelete(Long id) {
+        authorityRepository.evict(id);
+        AfterCommit.run(() -> principalConverter.evictRole(null));
     }
 
     @Override
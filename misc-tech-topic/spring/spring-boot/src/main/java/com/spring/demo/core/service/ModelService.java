@@ -1,11 +1,21 @@
 package com.spring.demo.core.service;
 
 import com.spring.demo.core.converter.ModelConverter;
+import com.spring.demo.core.entity.AbstractAuditedEntity;
 import com.spring.demo.core.entity.AbstractEntity;
+import com.spring.demo.core.model.BatchResult;
+import com.spring.demo.core.model.ResourceVersion;
+import com.spring.demo.core.model.VersionedPage;
 import com.spring.demo.core.repository.EntityRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import jakarta.persistence.EntityNotFoundException;
@@ -21,33 +31,64 @@ public interface ModelService<E extends AbstractEntity, M> {
 
     Class<M> modelClass();
 
+    @ReadOnlyTransactional
     default long count() {
         return repository().count();
     }
 
+    @ReadOnlyTransactional
     default Optional<M> find(Long id) {
         requirePresentId(id);
         return repository().findById(id).map(converter()::convertFrom);
     }
 
+    @ReadOnlyTransactional
     default M get(Long id) {
         requirePresentId(id);
         return repository().findById(id).map(converter()::convertFrom).orElseThrow(EntityNotFoundException::new);
     }
 
+    @ReadOnlyTransactional
     default boolean exists(Long id) {
         requirePresentId(id);
         return repository().existsById(id);
     }
 
+    @ReadOnlyTransactional
+    default Optional<ResourceVersion> version(Long id) {
+        requirePresentId(id);
+        return repository().findVersion(id);
+    }
+
+    @ReadOnlyTransactional
     default List<M> findAll() {
         return repository().findAll().stream().map(converter()::convertFrom).toList();
     }
 
+    @ReadOnlyTransactional
     default Page<M> findAll(Pageable pageable) {
         return repository().findAll(pageable).map(converter()::convertFrom);
     }
 
+    @ReadOnlyTransactional
+    default VersionedPage<M> findAllVersioned(Pageable pageable) {
+        Page<E> page = repository().findAll(pageable);
+        // derived from the page itself, a separate aggregate would scan the whole table on every request
+        long version = page.getTotalElements();
+        Instant lastModified = null;
+        for (E entity : page) {
+            if (!(entity instanceof AbstractAuditedEntity audited)) {
+                throw new UnsupportedOperationException(String.format("Entity %s is not versioned", entityClass().getSimpleName()));
+            }
+            version = 31 * (31 * version + audited.getId()) + audited.getVersion();
+            if (Objects.isNull(lastModified)
+                            || !Objects.isNull(audited.getLastModified()) && audited.getLastModified().isAfter(lastModified)) {
+                lastModified = audited.getLastModified();
+            }
+        }
+        return new VersionedPage<>(page.map(converter()::convertFrom), new ResourceVersion(page.getTotalElements(), version, lastModified));
+    }
+
     default List<M> getAll() {
         return findAll();
     }
@@ -77,6 +118,7 @@ public interface ModelService<E extends AbstractEntity, M> {
     }
 
     @Transactional
+    @RetryOnConflict
     default M update(Long id, M model) {
         requirePresentId(id);
         requireModel(model);
@@ -101,14 +143,159 @@ public interface ModelService<E extends AbstractEntity, M> {
     default boolean delete(Long id) {
         requirePresentId(id);
         beforeDelete(id);
-        if (!repository().existsById(id)) {
+        if (repository().deleteByIdInBatch(id) == 0) {
             return false;
         }
-        repository().deleteById(id);
         afterDelete(id);
         return true;
     }
 
+    @Transactional
+    default int deleteByIds(Collection<Long> ids) {
+        requireBatch(ids);
+        List<Long> targets = ids.stream().distinct().toList();
+        targets.forEach(this::requirePresentId);
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        // hooks must only see rows that exist, one select per batch instead of one per id
+        List<Long> existing = repository().findExistingIds(targets);
+        if (existing.isEmpty()) {
+            return 0;
+        }
+        existing.forEach(this::beforeDelete);
+        int deleted = repository().deleteAllByIdsInBatch(existing);
+        if (deleted > 0) {
+            existing.forEach(this::afterDelete);
+        }
+        return deleted;
+    }
+
+    @Transactional
+    default BatchResult<M> createAll(List<M> models) {
+        requireBatch(models);
+        List<E> entities = new ArrayList<>(models.size());
+        List<BatchResult.Failure> failures = new ArrayList<>();
+        for (int index = 0; index < models.size(); index++) {
+            try {
+                M model = models.get(index);
+                requireModel(model);
+                beforeCreateModel(model);
+
+                E entity = converter().convertFrom(model);
+                requireEmptyId(entity.getId());
+
+                beforeCreateEntity(entity);
+                validateCreateEntity(entity);
+                entities.add(entity);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                failures.add(BatchResult.Failure.of(index, null, e));
+            }
+        }
+
+        List<E> saved = repository().saveAll(entities);
+        repository().flush();
+
+        List<M> out = new ArrayList<>(saved.size());
+        for (E entity : saved) {
+            afterCreateEntity(entity);
+            M created = converter().convertFrom(entity);
+            afterCreateModel(created);
+            out.add(created);
+        }
+        return new BatchResult<>(out, failures);
+    }
+
+    @Transactional
+    @RetryOnConflict
+    default BatchResult<M> updateAll(List<M> models, Function<? super M, Long> idOf) {
+        requireBatch(models);
+        List<Long> ids = new ArrayList<>(models.size());
+        Map<Long, Integer> occurrences = new HashMap<>(models.size());
+        for (M model : models) {
+            Long id = Objects.isNull(model) ? null : idOf.apply(model);
+            ids.add(id);
+            if (!Objects.isNull(id)) {
+                occurrences.merge(id, 1, Integer::sum);
+            }
+        }
+        Map<Long, E> existing = new HashMap<>(occurrences.size());
+        repository().findAllById(occurrences.keySet()).forEach(entity -> existing.put(entity.getId(), entity));
+
+        List<E> entities = new ArrayList<>(models.size());
+        List<BatchResult.Failure> failures = new ArrayList<>();
+        for (int index = 0; index < models.size(); index++) {
+            M model = models.get(index);
+            Long id = ids.get(index);
+            E entity = null;
+            try {
+                requireModel(model);
+                requirePresentId(id);
+                if (occurrences.get(id) > 1) {
+                    // neither update can win deterministically, so every occurrence is rejected
+                    throw new IllegalArgumentException(String.format("Id %d occurs more than once in the batch", id));
+                }
+
+                beforeUpdateModel(id, model);
+                entity = existing.get(id);
+                if (Objects.isNull(entity)) {
+                    throw new EntityNotFoundException(String.format("Entity with id %d not found", id));
+                }
+
+                beforeUpdateEntity(entity);
+                converter().updateEntity(entity, model);
+                validateCreateEntity(entity);
+                entities.add(entity);
+            } catch (IllegalArgumentException | IllegalStateException | EntityNotFoundException e) {
+                if (!Objects.isNull(entity)) {
+                    // the rejected changes are already on the managed entity, keep them out of the flush
+                    repository().detach(entity);
+                }
+                failures.add(BatchResult.Failure.of(index, id, e));
+            }
+        }
+
+        List<E> saved = repository().saveAll(entities);
+        repository().flush();
+
+        List<M> out = new ArrayList<>(saved.size());
+        for (E entity : saved) {
+            afterUpdateEntity(entity);
+            M updated = converter().convertFrom(entity);
+            afterUpdateModel(updated);
+            out.add(updated);
+        }
+        return new BatchResult<>(out, failures);
+    }
+
+    @Transactional
+    default BatchResult<Long> deleteAll(List<Long> ids) {
+        requireBatch(ids);
+        Map<Long, E> existing = new HashMap<>(ids.size());
+        repository().findAllById(ids.stream().filter(Objects::nonNull).toList()).forEach(entity -> existing.put(entity.getId(), entity));
+
+        List<Long> deleted = new ArrayList<>(ids.size());
+        List<BatchResult.Failure> failures = new ArrayList<>();
+        for (int index = 0; index < ids.size(); index++) {
+            Long id = ids.get(index);
+            try {
+                requirePresentId(id);
+                E entity = existing.remove(id);
+                if (Objects.isNull(entity)) {
+                    throw new EntityNotFoundException(String.format("Entity with id %d not found", id));
+                }
+                beforeDelete(id);
+                deleted.add(id);
+            } catch (IllegalArgumentException | IllegalStateException | EntityNotFoundException e) {
+                failures.add(BatchResult.Failure.of(index, id, e));
+            }
+        }
+
+        repository().deleteAllByIdsInBatch(deleted);
+        deleted.forEach(this::afterDelete);
+        return new BatchResult<>(deleted, failures);
+    }
+
     @Transactional
     default boolean deleteAll() {
         beforeDelete(null);
@@ -160,6 +347,12 @@ public interface ModelService<E extends AbstractEntity, M> {
         }
     }
 
+    default void requireBatch(Object batch) {
+        if (Objects.isNull(batch)) {
+            throw new IllegalArgumentException("Batch must not be null");
+        }
+    }
+
     default void requireEntity(E entity) {
         if (Objects.isNull(entity)) {
             throw new IllegalArgumentException("Entity must not be null");
@@ -1,13 +1,16 @@
 package com.spring.demo.core.service;
 
+import com.spring.demo.core.config.model.MutableUserDetails;
 import com.spring.demo.core.converter.PrincipalConverter;
 import com.spring.demo.core.entity.UserEntity;
 import com.spring.demo.core.repository.UserRepository;
+import com.spring.demo.core.service.support.AfterCommit;
 import java.util.Objects;
 import java.util.Optional;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import jakarta.transaction.Transactional;
@@ -19,9 +22,12 @@ public class PrincipalService {
 
     private final PrincipalConverter principalConverter;
 
-    public PrincipalService(UserRepository userRepository, PrincipalConverter principalConverter) {
+    private final UserCache userCache;
+
+    public PrincipalService(UserRepository userRepository, PrincipalConverter principalConverter, UserCache userCache) {
         this.userRepository = userRepository;
         this.principalConverter = principalConverter;
+        this.userCache = userCache;
     }
 
     public Optional<UserDetails> getPrincipal() {
@@ -33,9 +39,13 @@ public class PrincipalService {
         if (Objects.isNull(authentication) || !authentication.isAuthenticated()) {
             return Optional.empty();
         }
-        return Optional.ofNullable((UserDetails) authentication.getPrincipal());
+        if (authentication.getPrincipal() instanceof UserDetails details) {
+            return Optional.of(details);
+        }
+        return Optional.of(new MutableUserDetails(authentication.getName(), null, authentication.getAuthorities()));
     }
 
+    // stays on the primary, the result is cached right after user and role writes evicted the stale entry
     @Transactional
     public Optional<UserDetails> getPrincipal(String username) {
         return userRepository.findByUsername(username).map(principalConverter::convertFrom);
@@ -45,6 +55,7 @@ public class PrincipalService {
     public Optional<UserDetails> updatePrincipal(String username, UserDetails details) {
         UserEntity foundUserEntity = userRepository.findByUsername(username).orElseThrow();
         principalConverter.updateEntity(foundUserEntity, details);
+        AfterCommit.run(() -> userCache.removeUserFromCache(username));
         return Optional.ofNullable(principalConverter.convertFrom(foundUserEntity));
     }
 }
@@ -1,11 +1,13 @@
 package com.spring.demo.core.service;
 
 import com.spring.demo.core.converter.ModelConverter;
+import com.spring.demo.core.converter.PrincipalConverter;
 import com.spring.demo.core.converter.RoleConverter;
 import com.spring.demo.core.entity.RoleEntity;
 import com.spring.demo.core.model.RoleModel;
 import com.spring.demo.core.repository.EntityRepository;
 import com.spring.demo.core.repository.RoleRepository;
+import com.spring.demo.core.service.support.AfterCommit;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,9 +17,25 @@ public class RoleService implements ModelService<RoleEntity, RoleModel> {
 
     private final RoleConverter roleConverter;
 
-    public RoleService(RoleRepository roleRepository, RoleConverter roleConverter) {
+    private final PrincipalConverter principalConverter;
+
+    public RoleService(RoleRepository roleRepository, RoleConverter roleConverter, PrincipalConverter principalConverter) {
         this.roleRepository = roleRepository;
         this.roleConverter = roleConverter;
+        this.principalConverter = principalConverter;
+    }
+
+    @Override
+    public void afterUpdateEntity(RoleEntity saved) {
+        Long id = saved.getId();
+        roleRepository.evict(id);
+        AfterCommit.run(() -> principalConverter.evictRole(id));
+    }
+
+    @Override
+    public void afterDelete(Long id) {
+        roleRepository.evict(id);
+        AfterCommit.run(() -> principalConverter.evictRole(id));
     }
 
     @Override
@@ -0,0 +1,190 @@
+package com.spring.demo.core.service;
+
+import com.spring.demo.core.api.CompiledCriteriaPipeline;
+import com.spring.demo.core.api.CriteriaCollection;
+import com.spring.demo.core.api.CriteriaCondition;
+import com.spring.demo.core.api.CriteriaDefinition;
+import com.spring.demo.core.api.CriteriaOperator;
+import java.beans.Introspector;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+final class SearchPlan<E> {
+
+    private static final Map<PlanKey, SearchPlan<?>> PLANS = new ConcurrentHashMap<>();
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final CompiledCriteriaPipeline<Specification<E>> pipeline;
+
+    private SearchPlan(CompiledCriteriaPipeline<Specification<E>> pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> SearchPlan<E> of(Class<E> entityClass, Enum<? extends CriteriaDefinition>[] enumerators) {
+        PlanKey key = new PlanKey(entityClass, List.of(enumerators));
+        return (SearchPlan<E>) PLANS.computeIfAbsent(key, k -> compile(entityClass, enumerators));
+    }
+
+    Specification<E> toSpecification(CriteriaCollection criteria) {
+        Specification<E> specification = pipeline.reduce(criteria, null, (all, next) -> Objects.isNull(all) ? next : all.and(next));
+        return Objects.isNull(specification) ? Specification.allOf() : specification;
+    }
+
+    private static <E> SearchPlan<E> compile(Class<E> entityClass, Enum<? extends CriteriaDefinition>[] enumerators) {
+        Map<String, Class<?>> properties = getTypeProperties(entityClass);
+        ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+        CompiledCriteriaPipeline.Builder<Specification<E>> builder = CompiledCriteriaPipeline.builder();
+        for (Enum<? extends CriteriaDefinition> key : enumerators) {
+            String property = normalizeKey(key.name());
+            Class<?> paramType = properties.get(property);
+            if (Objects.isNull(paramType)) {
+                continue;
+            }
+
+            if (!(key instanceof CriteriaDefinition)) {
+                throw new IllegalStateException(String.format("Provided criterion key is of invalid type %s, expected %s",
+                                key.getClass().getSimpleName(), CriteriaDefinition.class.getSimpleName()));
+            }
+
+            CriteriaDefinition definition = (CriteriaDefinition) key;
+            if (!definition.type().equals(paramType)) {
+                throw new IllegalStateException(String.format("Type mismatch between definition %s and expected type %s ",
+                                definition.type().getSimpleName(), paramType.getSimpleName()));
+            }
+
+            SearchProperty<E> target = new SearchProperty<>(property, paramType, conversionService);
+            builder.accept(CriteriaOperator.EQUAL.definition(definition), defaultCondition(paramType), target::equalTo);
+            builder.accept(CriteriaOperator.IN.definition(definition), Objects::nonNull, target::in);
+            if (String.class.equals(paramType)) {
+                builder.accept(CriteriaOperator.PREFIX.definition(definition), defaultCondition(paramType), target::startsWith);
+            }
+            if (Comparable.class.isAssignableFrom(paramType)) {
+                builder.accept(CriteriaOperator.FROM.definition(definition), defaultCondition(paramType), target::greaterThanOrEqualTo);
+                builder.accept(CriteriaOperator.TO.definition(definition), defaultCondition(paramType), target::lessThanOrEqualTo);
+            }
+        }
+        return new SearchPlan<>(builder.build());
+    }
+
+    static Map<String, Class<?>> getTypeProperties(Class<?> type) {
+        Map<String, Class<?>> properties = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (method.isBridge() || Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1 || name.length() <= 3
+                            || !name.startsWith("set")) {
+                continue;
+            }
+            String property = Introspector.decapitalize(name.substring(3));
+            properties.merge(property, method.getParameterTypes()[0],
+                            (current, candidate) -> preferred(type, property, current, candidate));
+        }
+        return properties;
+    }
+
+    private static Class<?> preferred(Class<?> type, String property, Class<?> current, Class<?> candidate) {
+        Class<?> getterType = getterType(type, property);
+        if (candidate.equals(getterType) || current.equals(getterType)) {
+            return candidate.equals(getterType) ? candidate : current;
+        }
+        // getMethods() has no defined order, overloads without a matching getter are ranked by type name
+        return current.getName().compareTo(candidate.getName()) <= 0 ? current : candidate;
+    }
+
+    private static Class<?> getterType(Class<?> type, String property) {
+        String suffix = StringUtils.capitalize(property);
+        Method getter = ReflectionUtils.findMethod(type, "get" + suffix);
+        if (Objects.isNull(getter)) {
+            getter = ReflectionUtils.findMethod(type, "is" + suffix);
+        }
+        return Objects.isNull(getter) ? null : getter.getReturnType();
+    }
+
+    private static CriteriaCondition<Object> defaultCondition(Class<?> paramType) {
+        if (String.class.equals(paramType)) {
+            return v -> (v instanceof String s) && StringUtils.hasText(s);
+        }
+        return Objects::nonNull;
+    }
+
+    private static String normalizeKey(String keyName) {
+        String lowerCase = keyName.trim().toLowerCase();
+        if (!lowerCase.contains("_")) {
+            return lowerCase;
+        }
+        String[] parts = lowerCase.split("_+");
+        StringBuilder finalKeyName = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            if (parts[i].isEmpty()) {
+                continue;
+            }
+            finalKeyName.append(Character.toUpperCase(parts[i].charAt(0))).append(parts[i].substring(1));
+        }
+        return finalKeyName.toString();
+    }
+
+    private record PlanKey(Class<?> entityClass, List<Enum<? extends CriteriaDefinition>> definitions) {
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private record SearchProperty<E>(String property, Class<?> type, ConversionService conversionService) {
+
+        Specification<E> equalTo(Object raw) {
+            Object value = convert(raw);
+            return (root, query, cb) -> cb.equal(root.get(property), value);
+        }
+
+        Specification<E> startsWith(Object raw) {
+            String value = escape((String) convert(raw)) + "%";
+            return (root, query, cb) -> cb.like(root.get(property), value, LIKE_ESCAPE);
+        }
+
+        Specification<E> greaterThanOrEqualTo(Object raw) {
+            Comparable value = (Comparable) convert(raw);
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<Comparable>get(property), value);
+        }
+
+        Specification<E> lessThanOrEqualTo(Object raw) {
+            Comparable value = (Comparable) convert(raw);
+            return (root, query, cb) -> cb.lessThanOrEqualTo(root.<Comparable>get(property), value);
+        }
+
+        Specification<E> in(Object raw) {
+            List<Object> values = new ArrayList<>();
+            if (raw instanceof Collection<?> collection) {
+                collection.stream().filter(Objects::nonNull).map(this::convert).forEach(values::add);
+            } else if (raw instanceof String string) {
+                for (String token : StringUtils.commaDelimitedListToStringArray(string)) {
+                    if (StringUtils.hasText(token)) {
+                        values.add(convert(token.trim()));
+                    }
+                }
+            } else {
+                values.add(convert(raw));
+            }
+            return (root, query, cb) -> values.isEmpty() ? cb.disjunction() : root.get(property).in(values);
+        }
+
+        private Object convert(Object raw) {
+            return (Objects.isNull(raw) || type.isInstance(raw)) ? raw : conversionService.convert(raw, type);
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        }
+    }
+}
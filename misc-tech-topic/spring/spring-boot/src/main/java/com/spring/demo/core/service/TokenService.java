@@ -0,0 +1,51 @@
+package com.spring.demo.core.service;
+
+import com.spring.demo.core.model.TokenModel;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TokenService {
+
+    public static final String AUTHORITIES_CLAIM = "authorities";
+
+    public static final MacAlgorithm SIGNING_ALGORITHM = MacAlgorithm.HS256;
+
+    private static final String TOKEN_TYPE = "Bearer";
+
+    private final JwtEncoder jwtEncoder;
+
+    private final Duration timeToLive;
+
+    private final String issuer;
+
+    public TokenService(JwtEncoder jwtEncoder, @Value("${security.token.time-to-live:PT15M}") Duration timeToLive,
+                    @Value("${spring.application.name:demo}") String issuer) {
+        this.jwtEncoder = jwtEncoder;
+        this.timeToLive = timeToLive;
+        this.issuer = issuer;
+    }
+
+    public TokenModel issue(Authentication authentication) {
+        Instant issuedAt = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                        .issuer(issuer)
+                        .issuedAt(issuedAt)
+                        .expiresAt(issuedAt.plus(timeToLive))
+                        .subject(authentication.getName())
+                        .claim(AUTHORITIES_CLAIM, authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                        .build();
+        JwsHeader header = JwsHeader.with(SIGNING_ALGORITHM).build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return new TokenModel(token, TOKEN_TYPE, timeToLive.toSeconds());
+    }
+}
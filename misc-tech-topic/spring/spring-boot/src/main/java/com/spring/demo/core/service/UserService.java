@@ -1,14 +1,15 @@
 package com.spring.demo.core.service;
 
+import com.spring.demo.core.config.support.CaffeineUserCache;
 import com.spring.demo.core.converter.ModelConverter;
 import com.spring.demo.core.converter.UserConverter;
 import com.spring.demo.core.entity.UserEntity;
 import com.spring.demo.core.model.UserModel;
 import com.spring.demo.core.repository.EntityRepository;
 import com.spring.demo.core.repository.UserRepository;
+import com.spring.demo.core.service.support.AfterCommit;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
-import jakarta.transaction.Transactional;
 
 @Service
 public class UserService extends SearchService<UserEntity, UserModel> implements ModelService<UserEntity, UserModel> {
@@ -17,9 +18,24 @@ public class UserService extends SearchService<UserEntity, UserModel> implements
 
     private final UserConverter userConverter;
 
-    public UserService(UserRepository userRepository, UserConverter userConverter) {
+    private final CaffeineUserCache userCache;
+
+    public UserService(UserRepository userRepository, UserConverter userConverter, CaffeineUserCache userCache) {
         this.userRepository = userRepository;
         this.userConverter = userConverter;
+        this.userCache = userCache;
+    }
+
+    @Override
+    public void afterUpdateEntity(UserEntity saved) {
+        String username = saved.getUsername();
+        AfterCommit.run(() -> userCache.removeUserFromCache(username));
+    }
+
+    @Override
+    public void beforeDelete(Long id) {
+        // the cache is keyed by username, looking it up would turn every delete into a select and a delete
+        AfterCommit.run(userCache::removeAllFromCache);
     }
 
     @Override
@@ -42,12 +58,12 @@ public class UserService extends SearchService<UserEntity, UserModel> implements
         return UserModel.class;
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     public UserModel getByUsername(String username) {
         return findByUsername(username).orElseThrow();
     }
 
-    @Transactional
+    @ReadOnlyTransactional
     public Optional<UserModel> findByUsername(String username) {
         Optional<UserEntity> entity = userRepository.findByUsername(username);
         return entity.map(converter()::convertFrom);
@@ -0,0 +1,355 @@
+package com.spring.demo.core.service;
+
+import com.spring.demo.core.entity.VideoEntity;
+import com.spring.demo.core.repository.VideoRepository;
+import com.spring.demo.core.service.support.IntObjectMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+@ConditionalOnProperty(prefix = "search", name = "engine", havingValue = "memory")
+public class VideoSearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VideoSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final int REBUILD_FETCH_SIZE = 1000;
+
+    public enum Match {
+        ALL, ANY
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Lock rebuilding = new ReentrantLock();
+
+    private final VideoRepository videoRepository;
+
+    private final Timer rebuildTimer;
+
+    private Map<String, int[]> postings = new HashMap<>();
+
+    private IntObjectMap<String[]> documents = new IntObjectMap<>();
+
+    // incremental updates made while a rebuild streams its snapshot, replayed onto the rebuilt index
+    private List<Runnable> pending;
+
+    public VideoSearchIndex(VideoRepository videoRepository, MeterRegistry meterRegistry) {
+        this.videoRepository = videoRepository;
+        this.rebuildTimer = Timer.builder("video.search.index.rebuild").register(meterRegistry);
+        Gauge.builder("video.search.index.terms", this, VideoSearchIndex::terms).register(meterRegistry);
+        Gauge.builder("video.search.index.documents", this, VideoSearchIndex::documents).register(meterRegistry);
+        Gauge.builder("video.search.index.memory", this, VideoSearchIndex::estimatedBytes).baseUnit("bytes").register(meterRegistry);
+    }
+
+    @ReadOnlyTransactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuilding.lock();
+        try {
+            rebuildSnapshot();
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    private void rebuildSnapshot() {
+        long started = System.nanoTime();
+        setPending(new ArrayList<>());
+        try (Stream<VideoEntity> stream = videoRepository.stream(null, Sort.by(Sort.Direction.ASC, "id"), REBUILD_FETCH_SIZE)) {
+            Map<String, PostingBuilder> builders = new HashMap<>();
+            IntObjectMap<String[]> rebuilt = new IntObjectMap<>();
+            Iterator<VideoEntity> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                VideoEntity entity = iterator.next();
+                int id = toDocument(entity.getId());
+                String[] terms = tokenize(entity.getName(), entity.getDescription());
+                for (String term : terms) {
+                    builders.computeIfAbsent(term, t -> new PostingBuilder()).add(id);
+                }
+                rebuilt.put(id, terms);
+                videoRepository.detach(entity);
+            }
+
+            Map<String, int[]> compacted = new HashMap<>(builders.size());
+            builders.forEach((term, builder) -> compacted.put(term, builder.build()));
+
+            lock.writeLock().lock();
+            try {
+                this.postings = compacted;
+                this.documents = rebuilt;
+                pending.forEach(Runnable::run);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            setPending(null);
+        }
+        long elapsed = System.nanoTime() - started;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        LOGGER.info("Rebuilt video search index with {} documents and {} terms in {} ms", documents(), terms(), elapsed / 1_000_000);
+    }
+
+    public void index(Long id, String... fields) {
+        int document = toDocument(id);
+        String[] terms = tokenize(fields);
+        apply(() -> link(document, terms));
+    }
+
+    public void remove(Long id) {
+        int document = toDocument(id);
+        apply(() -> unlink(document));
+    }
+
+    public void clear() {
+        apply(() -> {
+            postings.clear();
+            documents.clear();
+        });
+    }
+
+    public int[] search(String query, Match match) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0) {
+            return EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            int[][] lists = new int[terms.length][];
+            for (int i = 0; i < terms.length; i++) {
+                lists[i] = postings.getOrDefault(terms[i], EMPTY);
+            }
+            return match == Match.ALL ? intersect(lists) : rank(lists);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int terms() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int documents() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (Map.Entry<String, int[]> entry : postings.entrySet()) {
+                bytes += 40L + 2L * entry.getKey().length() + 16L + 4L * entry.getValue().length;
+            }
+            return bytes + 32L * documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String[] tokenize(String... fields) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (!StringUtils.hasText(field)) {
+                continue;
+            }
+            for (String token : TOKEN_SEPARATOR.split(field.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    terms.add(token);
+                }
+            }
+        }
+        return terms.toArray(String[]::new);
+    }
+
+    private void setPending(List<Runnable> mutations) {
+        lock.writeLock().lock();
+        try {
+            pending = mutations;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Runnable mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.run();
+            if (!Objects.isNull(pending)) {
+                pending.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void link(int document, String[] terms) {
+        unlink(document);
+        for (String term : terms) {
+            postings.merge(term, new int[] {document}, (current, single) -> insert(current, document));
+        }
+        documents.put(document, terms);
+    }
+
+    private void unlink(int document) {
+        String[] previous = documents.remove(document);
+        if (Objects.isNull(previous)) {
+            return;
+        }
+        for (String term : previous) {
+            int[] remaining = delete(postings.getOrDefault(term, EMPTY), document);
+            if (remaining.length == 0) {
+                postings.remove(term);
+            } else {
+                postings.put(term, remaining);
+            }
+        }
+    }
+
+    private static int toDocument(Long id) {
+        if (Objects.isNull(id)) {
+            throw new IllegalArgumentException("Indexed video id must not be null");
+        }
+        return Math.toIntExact(id);
+    }
+
+    private static int[] insert(int[] list, int id) {
+        int position = Arrays.binarySearch(list, id);
+        if (position >= 0) {
+            return list;
+        }
+        position = -position - 1;
+        int[] result = new int[list.length + 1];
+        System.arraycopy(list, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(list, position, result, position + 1, list.length - position);
+        return result;
+    }
+
+    private static int[] delete(int[] list, int id) {
+        int position = Arrays.binarySearch(list, id);
+        if (position < 0) {
+            return list;
+        }
+        int[] result = new int[list.length - 1];
+        System.arraycopy(list, 0, result, 0, position);
+        System.arraycopy(list, position + 1, result, position, list.length - position - 1);
+        return result;
+    }
+
+    private static int[] intersect(int[][] lists) {
+        Arrays.sort(lists, (left, right) -> Integer.compare(left.length, right.length));
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            int[] other = lists[i];
+            int[] next = new int[result.length];
+            int size = 0;
+            int from = 0;
+            for (int id : result) {
+                int position = Arrays.binarySearch(other, from, other.length, id);
+                if (position >= 0) {
+                    next[size++] = id;
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+                if (from >= other.length) {
+                    break;
+                }
+            }
+            result = Arrays.copyOf(next, size);
+        }
+        return result;
+    }
+
+    private static int[] rank(int[][] lists) {
+        int total = 0;
+        for (int[] list : lists) {
+            total += list.length;
+        }
+        int[] merged = new int[total];
+        int offset = 0;
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, merged, offset, list.length);
+            offset += list.length;
+        }
+        Arrays.sort(merged);
+
+        int size = 0;
+        long[] scored = new long[total];
+        for (int i = 0; i < total;) {
+            int j = i;
+            while (j < total && merged[j] == merged[i]) {
+                j++;
+            }
+            scored[size++] = ((long) (lists.length - (j - i)) << 32) | (merged[i] & 0xFFFFFFFFL);
+            i = j;
+        }
+        Arrays.sort(scored, 0, size);
+
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (int) scored[i];
+        }
+        return result;
+    }
+
+    private static final class PostingBuilder {
+
+        private int[] ids = new int[4];
+
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+            }
+            ids[size++] = id;
+        }
+
+        int[] build() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
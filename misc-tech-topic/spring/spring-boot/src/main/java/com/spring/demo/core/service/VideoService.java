@@ -3,21 +3,97 @@ package com.spring.demo.core.service;
 import com.spring.demo.core.converter.ModelConverter;
 import com.spring.demo.core.converter.VideoConverter;
 import com.spring.demo.core.entity.VideoEntity;
+import com.spring.demo.core.model.CursorPage;
 import com.spring.demo.core.model.VideoModel;
 import com.spring.demo.core.repository.EntityRepository;
 import com.spring.demo.core.repository.VideoRepository;
+import com.spring.demo.core.service.support.AfterCommit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 @Service
 public class VideoService extends SearchService<VideoEntity, VideoModel> implements ModelService<VideoEntity, VideoModel> {
 
+    static final int NAME_LENGTH = 128;
+
+    static final int DESCRIPTION_LENGTH = 1024;
+
     private final VideoRepository videoRepository;
 
     private final VideoConverter videoConverter;
 
-    public VideoService(VideoRepository videoRepository, VideoConverter videoConverter) {
+    private final ObjectProvider<VideoSearchIndex> searchIndex;
+
+    public VideoService(VideoRepository videoRepository, VideoConverter videoConverter, ObjectProvider<VideoSearchIndex> searchIndex) {
         this.videoRepository = videoRepository;
         this.videoConverter = videoConverter;
+        this.searchIndex = searchIndex;
+    }
+
+    @ReadOnlyTransactional
+    public CursorPage<VideoModel> seek(String after, int size, boolean count) {
+        if (size <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid page size %d, expected a positive value", size));
+        }
+        long lastId = StringUtils.hasText(after) ? CursorPage.decode(after) : 0L;
+        List<VideoEntity> entities = videoRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, Limit.of(size + 1));
+
+        boolean hasNext = entities.size() > size;
+        List<VideoEntity> content = hasNext ? entities.subList(0, size) : entities;
+        String next = hasNext ? CursorPage.encode(content.get(content.size() - 1).getId()) : null;
+        Long total = count ? videoRepository.count() : null;
+
+        return new CursorPage<>(content.stream().map(videoConverter::convertFrom).toList(), next, total);
+    }
+
+    @ReadOnlyTransactional
+    public Page<VideoModel> searchText(String query, Pageable pageable) {
+        return searchText(query, VideoSearchIndex.Match.ALL, pageable);
+    }
+
+    @ReadOnlyTransactional
+    public Page<VideoModel> searchText(String query, VideoSearchIndex.Match match, Pageable pageable) {
+        if (!StringUtils.hasText(query)) {
+            return Page.empty(pageable);
+        }
+        VideoSearchIndex index = searchIndex.getIfAvailable();
+        if (!Objects.isNull(index)) {
+            return searchIndex(index, query, match, pageable);
+        }
+        String text = match == VideoSearchIndex.Match.ANY ? String.join(" or ", VideoSearchIndex.tokenize(query)) : query.trim();
+        Pageable unsorted = pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+        return videoRepository.findAllByText(text, unsorted).map(videoConverter::convertFrom);
+    }
+
+    @Override
+    public void validateCreateEntity(VideoEntity entity) {
+        validate(entity.getName(), entity.getDescription());
+    }
+
+    @Override
+    public void afterCreateEntity(VideoEntity saved) {
+        reindex(saved);
+    }
+
+    @Override
+    public void afterUpdateEntity(VideoEntity saved) {
+        reindex(saved);
+    }
+
+    @Override
+    public void afterDelete(Long id) {
+        searchIndex.ifAvailable(index -> AfterCommit.run(Objects.isNull(id) ? index::clear : () -> index.remove(id)));
     }
 
     @Override
@@ -39,4 +115,40 @@ public class VideoService extends SearchService<VideoEntity, VideoModel> impleme
     public Class<VideoModel> modelClass() {
         return VideoModel.class;
     }
+
+    static void validate(String name, String description) {
+        if (!StringUtils.hasText(name)) {
+            throw new IllegalArgumentException("Video name must not be blank");
+        }
+        if (name.length() > NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format("Video name exceeds %d characters", NAME_LENGTH));
+        }
+        if (!Objects.isNull(description) && description.length() > DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException(String.format("Video description exceeds %d characters", DESCRIPTION_LENGTH));
+        }
+    }
+
+    private void reindex(VideoEntity saved) {
+        final Long id = saved.getId();
+        final String name = saved.getName();
+        final String description = saved.getDescription();
+        searchIndex.ifAvailable(index -> AfterCommit.run(() -> index.index(id, name, description)));
+    }
+
+    private Page<VideoModel> searchIndex(VideoSearchIndex index, String query, VideoSearchIndex.Match match, Pageable pageable) {
+        int[] matches = index.search(query, match);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(load(matches), pageable, matches.length);
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.length);
+        int to = Math.min(from + pageable.getPageSize(), matches.length);
+        return new PageImpl<>(load(Arrays.copyOfRange(matches, from, to)), pageable, matches.length);
+    }
+
+    private List<VideoModel> load(int[] ids) {
+        List<Long> keys = Arrays.stream(ids).asLongStream().boxed().toList();
+        Map<Long, VideoEntity> entities = new HashMap<>(ids.length);
+        videoRepository.findAllById(keys).forEach(entity -> entities.put(entity.getId(), entity));
+        return keys.stream().map(entities::get).filter(Objects::nonNull).map(videoConverter::convertFrom).toList();
+    }
 }
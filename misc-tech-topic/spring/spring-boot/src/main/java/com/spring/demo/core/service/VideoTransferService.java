@@ -0,0 +1,235 @@
+package com.spring.demo.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spring.demo.core.api.CriteriaCollection;
+import com.spring.demo.core.model.BatchResult;
+import com.spring.demo.core.model.ImportReport;
+import com.spring.demo.core.model.VideoModel;
+import com.spring.demo.core.service.support.CsvReader;
+import com.spring.demo.core.service.support.CsvWriter;
+import com.spring.demo.core.service.support.LineReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+@Service
+public class VideoTransferService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VideoTransferService.class);
+
+    static final int CHUNK_SIZE = 500;
+
+    static final int MAXIMUM_RECORD_LENGTH = 8192;
+
+    static final int MAXIMUM_REPORTED_REJECTIONS = 100;
+
+    private static final Sort EXPORT_SORT = Sort.by(Sort.Direction.ASC, "id");
+
+    private final VideoService videoService;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter acceptedRows;
+
+    private final Counter rejectedRows;
+
+    public VideoTransferService(VideoService videoService, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.videoService = videoService;
+        this.objectMapper = objectMapper;
+        this.acceptedRows = Counter.builder("video.import.rows").tag("outcome", "accepted").register(meterRegistry);
+        this.rejectedRows = Counter.builder("video.import.rows").tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    public ImportReport importCsv(Reader source) throws IOException {
+        Importer importer = new Importer();
+        try (CsvReader reader = new CsvReader(source, MAXIMUM_RECORD_LENGTH)) {
+            List<String> header;
+            try {
+                header = reader.next();
+            } catch (IllegalStateException e) {
+                // nothing has been imported yet, the whole upload is unusable without its header
+                throw new IllegalArgumentException(e.getMessage(), e);
+            }
+            if (Objects.isNull(header)) {
+                return importer.finish();
+            }
+            int nameColumn = column(header, "name");
+            int descriptionColumn = column(header, "description");
+            if (nameColumn < 0) {
+                throw new IllegalArgumentException("CSV header must contain a name column");
+            }
+
+            while (true) {
+                List<String> record;
+                try {
+                    record = reader.next();
+                } catch (IllegalStateException e) {
+                    importer.reject(reader.line(), e.getMessage());
+                    continue;
+                }
+                if (Objects.isNull(record)) {
+                    break;
+                }
+                importer.accept(reader.line(), new VideoModel(null, field(record, nameColumn), field(record, descriptionColumn)));
+            }
+        }
+        return importer.finish();
+    }
+
+    public ImportReport importJsonLines(Reader source) throws IOException {
+        Importer importer = new Importer();
+        try (LineReader reader = new LineReader(source, MAXIMUM_RECORD_LENGTH)) {
+            while (true) {
+                String text;
+                try {
+                    text = reader.next();
+                } catch (IllegalStateException e) {
+                    importer.reject(reader.line(), e.getMessage());
+                    continue;
+                }
+                if (Objects.isNull(text)) {
+                    break;
+                }
+                if (!StringUtils.hasText(text)) {
+                    continue;
+                }
+                try {
+                    VideoModel video = objectMapper.readValue(text, VideoModel.class);
+                    importer.accept(reader.line(), Objects.isNull(video) ? null : new VideoModel(null, video.name(), video.description()));
+                } catch (JsonProcessingException e) {
+                    importer.reject(reader.line(), e.getOriginalMessage());
+                }
+            }
+        }
+        return importer.finish();
+    }
+
+    public long exportCsv(CriteriaCollection criteria, Writer target) throws IOException {
+        CsvWriter writer = new CsvWriter(target);
+        writer.write("id", "name", "description");
+        long count = videoService.search(criteria, VideoModel.VideoCriteria.values(), EXPORT_SORT, video -> {
+            try {
+                writer.write(video.id(), video.name(), video.description());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return count;
+    }
+
+    public long exportJsonLines(CriteriaCollection criteria, OutputStream target) throws IOException {
+        ObjectWriter lines = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE).withRootValueSeparator("\n");
+        try (SequenceWriter writer = lines.writeValues(target)) {
+            return videoService.search(criteria, VideoModel.VideoCriteria.values(), EXPORT_SORT, video -> {
+                try {
+                    writer.write(video);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (name.equals(header.get(i).trim().toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> record, int column) {
+        return column < 0 || column >= record.size() || record.get(column).isEmpty() ? null : record.get(column);
+    }
+
+    private final class Importer {
+
+        private final long started = System.nanoTime();
+
+        private final List<VideoModel> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        private final List<Long> lines = new ArrayList<>(CHUNK_SIZE);
+
+        private final List<ImportReport.Rejection> rejections = new ArrayList<>();
+
+        private long accepted;
+
+        private long rejected;
+
+        void accept(long line, VideoModel video) {
+            chunk.add(video);
+            lines.add(line);
+            if (chunk.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            rejectedRows.increment();
+            if (rejections.size() < MAXIMUM_REPORTED_REJECTIONS) {
+                rejections.add(new ImportReport.Rejection(line, message));
+            }
+        }
+
+        ImportReport finish() {
+            flush();
+            rejections.sort(Comparator.comparingLong(ImportReport.Rejection::line));
+            long elapsed = System.nanoTime() - started;
+            double rowsPerSecond = elapsed > 0 ? accepted * 1_000_000_000d / elapsed : 0d;
+            LOGGER.info("Imported {} videos and rejected {} rows in {} ms ({} rows/s)", accepted, rejected, elapsed / 1_000_000,
+                            Math.round(rowsPerSecond));
+            return new ImportReport(accepted, rejected, elapsed / 1_000_000, rowsPerSecond, List.copyOf(rejections));
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                BatchResult<VideoModel> result = videoService.createAll(new ArrayList<>(chunk));
+                accepted(result.content().size());
+                result.failures().forEach(failure -> reject(lines.get(failure.index()), failure.message()));
+            } catch (DataIntegrityViolationException e) {
+                LOGGER.debug("Chunk of {} videos violated a constraint, importing row by row", chunk.size(), e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    try {
+                        videoService.create(chunk.get(i));
+                        accepted(1);
+                    } catch (DataIntegrityViolationException | IllegalArgumentException ex) {
+                        reject(lines.get(i), ex instanceof DataIntegrityViolationException ? "Video conflicts with existing data"
+                                        : ex.getMessage());
+                    }
+                }
+            }
+            chunk.clear();
+            lines.clear();
+        }
+
+        private void accepted(int count) {
+            accepted += count;
+            acceptedRows.increment(count);
+        }
+    }
+}
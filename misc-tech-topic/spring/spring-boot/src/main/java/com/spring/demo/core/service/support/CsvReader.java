@@ -0,0 +1,118 @@
+package com.spring.demo.core.service.support;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+
+    private final int maximumRecordLength;
+
+    private final StringBuilder field = new StringBuilder();
+
+    private long line = 1;
+
+    private long recordLine = 1;
+
+    private int pending = EOF;
+
+    public CsvReader(Reader reader, int maximumRecordLength) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        this.maximumRecordLength = maximumRecordLength;
+    }
+
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            newline(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        int length = 0;
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (++length > maximumRecordLength) {
+                // keep parsing to the end of the oversized record without buffering it, so the next record can be read
+                field.setLength(0);
+                fields.clear();
+            }
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IllegalStateException(String.format("Unterminated quoted field at line %d", recordLine));
+                } else if (c == '"') {
+                    c = read();
+                    if (c == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                fields.add(field.toString());
+                if (c != EOF) {
+                    newline(c);
+                }
+                if (length > maximumRecordLength) {
+                    throw new IllegalStateException(
+                                    String.format("CSV record at line %d exceeds %d characters", recordLine, maximumRecordLength));
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void newline(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                pending = next;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != EOF) {
+            int c = pending;
+            pending = EOF;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,117 @@
+package com.spring.demo.core.service.support;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public class IntObjectMap<V> {
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private int[] keys;
+
+    private Object[] values;
+
+    private int size;
+
+    public IntObjectMap() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public IntObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MINIMUM_CAPACITY, expectedSize * 2 - 1) << 1);
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); !Objects.isNull(values[slot]); slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (Objects.isNull(value)) {
+            throw new IllegalArgumentException("Mapped value must not be null");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (; !Objects.isNull(values[slot]); slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); !Objects.isNull(values[slot]); slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                shiftBack(slot, mask);
+                size--;
+                return previous;
+            }
+        }
+        return null;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // backward shift deletion keeps every probe sequence intact without tombstones
+    private void shiftBack(int gap, int mask) {
+        for (int slot = (gap + 1) & mask; !Objects.isNull(values[slot]); slot = (slot + 1) & mask) {
+            int home = slot(keys[slot], mask);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (!Objects.isNull(oldValues[i])) {
+                int slot = slot(oldKeys[i], mask);
+                while (!Objects.isNull(values[slot])) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(int key, int mask) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,72 @@
+package com.spring.demo.core.service.support;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+public class LineReader implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+
+    private final int maximumLineLength;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private long line;
+
+    private int pending = EOF;
+
+    public LineReader(Reader reader, int maximumLineLength) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        this.maximumLineLength = maximumLineLength;
+    }
+
+    public String next() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+
+        line++;
+        int length = 0;
+        buffer.setLength(0);
+        while (c != '\n' && c != '\r' && c != EOF) {
+            // an oversized line is consumed without buffering it, so the next line can be read
+            if (++length <= maximumLineLength) {
+                buffer.append((char) c);
+            }
+            c = read();
+        }
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                pending = next;
+            }
+        }
+        if (length > maximumLineLength) {
+            throw new IllegalStateException(String.format("Line %d exceeds %d characters", line, maximumLineLength));
+        }
+        return buffer.toString();
+    }
+
+    public long line() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (pending != EOF) {
+            int c = pending;
+            pending = EOF;
+            return c;
+        }
+        return reader.read();
+    }
+}
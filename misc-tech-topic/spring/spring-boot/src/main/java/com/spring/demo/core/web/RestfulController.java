@@ -1,21 +1,48 @@
 package com.spring.demo.core.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spring.demo.config.ServletApplicationBean;
+import com.spring.demo.core.api.CriteriaCollection;
+import com.spring.demo.core.model.BatchResult;
+import com.spring.demo.core.model.CursorPage;
+import com.spring.demo.core.model.ImportReport;
+import com.spring.demo.core.model.ResourceVersion;
 import com.spring.demo.core.model.SearchCriteria;
 import com.spring.demo.core.model.UserModel;
+import com.spring.demo.core.model.VersionedPage;
 import com.spring.demo.core.model.VideoModel;
 import com.spring.demo.core.service.AuthorityService;
 import com.spring.demo.core.service.PrincipalService;
 import com.spring.demo.core.service.RoleService;
 import com.spring.demo.core.service.UserService;
+import com.spring.demo.core.service.VideoSearchIndex;
 import com.spring.demo.core.service.VideoService;
-import java.util.Collection;
+import com.spring.demo.core.service.VideoTransferService;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -27,42 +54,155 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@ServletApplicationBean
 @RequestMapping(path = "/api", produces = MediaType.APPLICATION_JSON_VALUE)
 public class RestfulController {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final VideoService videoService;
     private final RoleService roleService;
     private final UserService userService;
     private final PrincipalService principalService;
     private final AuthorityService authorityService;
+    private final VideoTransferService videoTransferService;
+    private final ObjectMapper objectMapper;
 
     public RestfulController(VideoService videoService, RoleService roleService, UserService userService, PrincipalService principalService,
-                    AuthorityService authorityService) {
+                    AuthorityService authorityService, VideoTransferService videoTransferService, ObjectMapper objectMapper) {
         this.videoService = videoService;
         this.roleService = roleService;
         this.userService = userService;
         this.principalService = principalService;
         this.authorityService = authorityService;
+        this.videoTransferService = videoTransferService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping(path = "/videos", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Page<VideoModel>> getVideos(@RequestParam(defaultValue = "1") int page,
-                    @RequestParam(defaultValue = "10") int size) {
+                    @RequestParam(defaultValue = "10") int size, WebRequest request) {
         final int pageNumber = Math.max(page, 1);
         final int pageSize = Math.min(Math.max(size, 1), 100);
         final Sort sortCriteria = Sort.by(Sort.Direction.ASC, "id");
 
         Pageable pageable = PageRequest.of(pageNumber - 1, pageSize, sortCriteria);
-        Page<VideoModel> videosPage = videoService.findAll(pageable);
+        VersionedPage<VideoModel> videosPage = videoService.findAllVersioned(pageable);
 
-        return ResponseEntity.ok(videosPage);
+        ResourceVersion version = videosPage.version();
+        if (request.checkNotModified(version.weakEtag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return versioned(version.weakEtag(), version).body(videosPage.page());
+    }
+
+    @GetMapping(path = "/video/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<VideoModel> getVideo(@PathVariable("id") Long target, WebRequest request) {
+        Optional<ResourceVersion> version = videoService.version(target);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(version.get().etag(), version.get().lastModifiedMillis())) {
+            return null;
+        }
+        return versioned(version.get().etag(), version.get()).body(videoService.get(target));
+    }
+
+    @GetMapping(path = "/videos/seek", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPage<VideoModel>> seekVideos(@RequestParam(required = false) String after,
+                    @RequestParam(defaultValue = "10") int size, @RequestParam(defaultValue = "false") boolean count) {
+        final int pageSize = Math.min(Math.max(size, 1), 100);
+        try {
+            return ResponseEntity.ok(videoService.seek(after, pageSize, count));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(path = "/videos/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<ImportReport> importVideos(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(videoTransferService.importCsv(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(path = "/videos/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importVideoLines(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(videoTransferService.importJsonLines(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(path = "/videos/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportVideos(@RequestParam Map<String, String> criteria) {
+        final CriteriaCollection searchCriteria = SearchCriteria.of(criteria);
+
+        StreamingResponseBody body = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            videoTransferService.exportCsv(searchCriteria, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("videos.csv").build().toString())
+                        .body(body);
+    }
+
+    @GetMapping(path = "/videos/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportVideoLines(@RequestParam Map<String, String> criteria) {
+        final CriteriaCollection searchCriteria = SearchCriteria.of(criteria);
+
+        StreamingResponseBody body = output -> videoTransferService.exportJsonLines(searchCriteria, output);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                        ContentDisposition.attachment().filename("videos.jsonl").build().toString())
+                        .body(body);
     }
 
     @GetMapping(path = "/find-videos", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Collection<VideoModel>> findVideos(@RequestParam Map<String, String> criteria) {
-        return ResponseEntity.ok(videoService.search(SearchCriteria.of(criteria), VideoModel.VideoCriteria.values()));
+    public ResponseEntity<Slice<VideoModel>> findVideos(@RequestParam Map<String, String> criteria,
+                    @RequestParam(defaultValue = "1") int page, @RequestParam(defaultValue = "10") int size,
+                    @RequestParam(defaultValue = "true") boolean count) {
+        final int pageNumber = Math.max(page, 1);
+        final int pageSize = Math.min(Math.max(size, 1), 100);
+        final Sort sortCriteria = Sort.by(Sort.Direction.ASC, "id");
+
+        Pageable pageable = PageRequest.of(pageNumber - 1, pageSize, sortCriteria);
+        CriteriaCollection searchCriteria = SearchCriteria.of(criteria);
+        Slice<VideoModel> videosPage = count ? videoService.search(searchCriteria, VideoModel.VideoCriteria.values(), pageable)
+                        : videoService.searchSlice(searchCriteria, VideoModel.VideoCriteria.values(), pageable);
+
+        return ResponseEntity.ok(videosPage);
+    }
+
+    @GetMapping(path = "/find-videos", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamVideos(@RequestParam Map<String, String> criteria) {
+        return streamVideos(criteria, MediaType.APPLICATION_NDJSON);
+    }
+
+    @GetMapping(path = "/find-videos", params = "stream=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamVideoArray(@RequestParam Map<String, String> criteria) {
+        return streamVideos(criteria, MediaType.APPLICATION_JSON);
+    }
+
+    @GetMapping(path = "/search-videos", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Page<VideoModel>> searchVideos(@RequestParam("q") String query,
+                    @RequestParam(defaultValue = "ALL") VideoSearchIndex.Match match, @RequestParam(defaultValue = "1") int page,
+                    @RequestParam(defaultValue = "10") int size) {
+        final int pageNumber = Math.max(page, 1);
+        final int pageSize = Math.min(Math.max(size, 1), 100);
+
+        Pageable pageable = PageRequest.of(pageNumber - 1, pageSize);
+        return ResponseEntity.ok(videoService.searchText(query, match, pageable));
     }
 
     @PostMapping(path = "/new-video", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -72,7 +212,11 @@ public class RestfulController {
 
     @PostMapping(path = "/update-video", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<VideoModel> updateVideo(@RequestBody VideoModel video) {
-        return ResponseEntity.ok(videoService.update(video.id(), video));
+        try {
+            return ResponseEntity.ok(videoService.update(video.id(), video));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     @PostMapping(path = "/delete-video/{id}")
@@ -80,17 +224,60 @@ public class RestfulController {
         return ResponseEntity.ok(videoService.delete(target));
     }
 
+    @PostMapping(path = "/new-videos", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResult<VideoModel>> addVideos(@RequestBody List<VideoModel> videos) {
+        if (videos.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return batchResponse(videoService.createAll(videos));
+    }
+
+    @PostMapping(path = "/update-videos", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResult<VideoModel>> updateVideos(@RequestBody List<VideoModel> videos) {
+        if (videos.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return batchResponse(videoService.updateAll(videos, VideoModel::id));
+    }
+
+    @PostMapping(path = "/delete-videos", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResult<Long>> deleteVideos(@RequestBody List<Long> targets) {
+        if (targets.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return batchResponse(videoService.deleteAll(targets));
+    }
+
     @GetMapping(path = "/users")
     @PreAuthorize("hasAuthority('user:manage') or hasAuthority('user:list')")
     public ResponseEntity<List<UserModel>> getUsers() {
         return ResponseEntity.ok(userService.getAll());
     }
 
+    @GetMapping(path = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('user:manage') or hasAuthority('user:list')")
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        return streamUsers(MediaType.APPLICATION_NDJSON);
+    }
+
+    @GetMapping(path = "/users", params = "stream=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('user:manage') or hasAuthority('user:list')")
+    public ResponseEntity<StreamingResponseBody> streamUserArray() {
+        return streamUsers(MediaType.APPLICATION_JSON);
+    }
+
     @GetMapping(path = {"/user", "/user/{id}"})
     @PreAuthorize("#target == null or hasAuthority('user:manage') or hasAuthority('user:list')")
-    public ResponseEntity<UserModel> getUser(@PathVariable(name = "id", required = false) Long target) {
+    public ResponseEntity<UserModel> getUser(@PathVariable(name = "id", required = false) Long target, WebRequest request) {
         if (!Objects.isNull(target)) {
-            return ResponseEntity.ok(userService.get(target));
+            Optional<ResourceVersion> version = userService.version(target);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(version.get().etag(), version.get().lastModifiedMillis())) {
+                return null;
+            }
+            return versioned(version.get().etag(), version.get()).body(userService.get(target));
         } else {
             UserDetails details = principalService.getPrincipal().orElseThrow();
             return ResponseEntity.ok(userService.findByUsername(details.getUsername()).orElseThrow());
@@ -100,7 +287,11 @@ public class RestfulController {
     @PreAuthorize("#user.username == authentication.name or hasAuthority('user:manage')")
     @PostMapping(path = "/update-user", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<UserModel> editUser(@RequestBody UserModel user) {
-        return ResponseEntity.ok(userService.update(user.id(), user));
+        try {
+            return ResponseEntity.ok(userService.update(user.id(), user));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     @PreAuthorize("hasAuthority('user:manage')")
@@ -108,4 +299,45 @@ public class RestfulController {
     public ResponseEntity<Object> deleteUser(@PathVariable("id") Long target) {
         return ResponseEntity.ok(userService.delete(target));
     }
+
+    private static ResponseEntity.BodyBuilder versioned(String etag, ResourceVersion version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag);
+        return version.lastModifiedMillis() < 0 ? builder : builder.lastModified(version.lastModifiedMillis());
+    }
+
+    private static <M> ResponseEntity<BatchResult<M>> batchResponse(BatchResult<M> result) {
+        return ResponseEntity.status(result.hasFailures() ? HttpStatus.MULTI_STATUS : HttpStatus.OK).body(result);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamVideos(Map<String, String> criteria, MediaType mediaType) {
+        final Sort sortCriteria = Sort.by(Sort.Direction.ASC, "id");
+        final CriteriaCollection searchCriteria = SearchCriteria.of(criteria);
+        return stream(mediaType,
+                        consumer -> videoService.search(searchCriteria, VideoModel.VideoCriteria.values(), sortCriteria, consumer));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamUsers(MediaType mediaType) {
+        final Sort sortCriteria = Sort.by(Sort.Direction.ASC, "id");
+        return stream(mediaType,
+                        consumer -> userService.search(SearchCriteria.empty(), UserModel.UserCriteria.values(), sortCriteria, consumer));
+    }
+
+    private <M> ResponseEntity<StreamingResponseBody> stream(MediaType mediaType, Consumer<Consumer<? super M>> source) {
+        final ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final boolean lines = MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(mediaType);
+
+        StreamingResponseBody body = output -> {
+            try (SequenceWriter sequence = lines ? writer.withRootValueSeparator("\n").writeValues(output)
+                            : writer.writeValuesAsArray(output)) {
+                source.accept(value -> {
+                    try {
+                        sequence.write(value);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
 }
@@ -1,5 +1,6 @@
 package com.spring.demo.core.web;
 
+import com.spring.demo.config.ServletApplicationBean;
 import com.spring.demo.core.model.SearchCriteria;
 import com.spring.demo.core.model.UserModel;
 import com.spring.demo.core.model.VideoModel;
@@ -28,6 +29,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
+@ServletApplicationBean
 @RequestMapping("/ui")
 public class TemplateController {
 
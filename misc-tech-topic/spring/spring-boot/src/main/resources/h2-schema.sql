@@ -5,13 +5,17 @@ CREATE SEQUENCE IF NOT EXISTS AUTH_SEQ START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS ROLES (
     ID BIGINT DEFAULT NEXT VALUE FOR ROLES_SEQ PRIMARY KEY,
-    NAME VARCHAR(32) NOT NULL UNIQUE
+    NAME VARCHAR(32) NOT NULL UNIQUE,
+    VERSION BIGINT NOT NULL DEFAULT 0,
+    LAST_MODIFIED TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE TABLE IF NOT EXISTS AUTHORITIES (
     ID BIGINT DEFAULT NEXT VALUE FOR AUTH_SEQ PRIMARY KEY,
     NAME VARCHAR(32) NOT NULL UNIQUE,
-    GRANT VARCHAR(128) NOT NULL UNIQUE
+    GRANT VARCHAR(128) NOT NULL UNIQUE,
+    VERSION BIGINT NOT NULL DEFAULT 0,
+    LAST_MODIFIED TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE TABLE IF NOT EXISTS USERS (
@@ -19,13 +23,17 @@ CREATE TABLE IF NOT EXISTS USERS (
     USERNAME VARCHAR(64) NOT NULL UNIQUE,
     PASSWORD VARCHAR(128),
     ROLE_ID BIGINT NOT NULL,
+    VERSION BIGINT NOT NULL DEFAULT 0,
+    LAST_MODIFIED TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (ROLE_ID) references ROLES(ID)
 );
 
 CREATE TABLE IF NOT EXISTS VIDEOS (
     ID BIGINT DEFAULT NEXT VALUE FOR VIDEOS_SEQ PRIMARY KEY,
     NAME VARCHAR(128) NOT NULL UNIQUE,
-    DESCRIPTION VARCHAR(1024)
+    DESCRIPTION VARCHAR(1024),
+    VERSION BIGINT NOT NULL DEFAULT 0,
+    LAST_MODIFIED TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE TABLE ROLE_AUTHORITY (
@@ -5,13 +5,17 @@ CREATE SEQUENCE IF NOT EXISTS auth_seq   START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS roles (
     id   BIGINT PRIMARY KEY DEFAULT nextval('roles_seq'::regclass),
-    name VARCHAR(32) NOT NULL UNIQUE
+    name VARCHAR(32) NOT NULL UNIQUE,
+    version       BIGINT NOT NULL DEFAULT 0,
+    last_modified TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE TABLE IF NOT EXISTS authorities (
     id    BIGINT PRIMARY KEY DEFAULT nextval('auth_seq'::regclass),
     name  VARCHAR(32) NOT NULL UNIQUE,
-    "grant" VARCHAR(128) NOT NULL UNIQUE
+    "grant" VARCHAR(128) NOT NULL UNIQUE,
+    version       BIGINT NOT NULL DEFAULT 0,
+    last_modified TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE TABLE IF NOT EXISTS users (
@@ -19,6 +23,8 @@ CREATE TABLE IF NOT EXISTS users (
     username VARCHAR(64) NOT NULL UNIQUE,
     password VARCHAR(128),
     role_id  BIGINT NOT NULL,
+    version       BIGINT NOT NULL DEFAULT 0,
+    last_modified TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_users_role
     FOREIGN KEY (role_id) REFERENCES roles(id)
 );
@@ -26,9 +32,17 @@ CREATE TABLE IF NOT EXISTS users (
 CREATE TABLE IF NOT EXISTS videos (
     id          BIGINT PRIMARY KEY DEFAULT nextval('videos_seq'::regclass),
     name        VARCHAR(128) NOT NULL UNIQUE,
-    description VARCHAR(1024)
+    description VARCHAR(1024),
+    version       BIGINT NOT NULL DEFAULT 0,
+    last_modified TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED
 );
 
+CREATE INDEX IF NOT EXISTS videos_search_vector_idx ON videos USING GIN (search_vector);
+
 CREATE TABLE IF NOT EXISTS role_authority (
     role_id      BIGINT NOT NULL,
     authority_id BIGINT NOT NULL,
@@ -0,0 +1,120 @@
+package com.spring.demo.core.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.spring.demo.core.entity.VideoRecord;
+import com.spring.demo.core.model.VideoModel;
+import com.spring.demo.core.repository.ReactiveVideoRepository;
+import java.time.Instant;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@Testable
+class ReactiveVideoServiceTest {
+
+    ReactiveVideoRepository videoRepository;
+
+    VideoSearchIndex searchIndex;
+
+    ReactiveVideoService videoService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void prepareService() {
+        videoRepository = mock(ReactiveVideoRepository.class);
+        searchIndex = mock(VideoSearchIndex.class);
+        ObjectProvider<VideoSearchIndex> searchIndexProvider = mock(ObjectProvider.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<VideoSearchIndex>>getArgument(0).accept(searchIndex);
+            return null;
+        }).when(searchIndexProvider).ifAvailable(any());
+        videoService = new ReactiveVideoService(videoRepository, searchIndexProvider);
+    }
+
+    @Test
+    void shouldPageVideosWithTotalCount() {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(videoRepository.findAllBy(pageable)).thenReturn(Flux.just(record(1L, "first"), record(2L, "second")));
+        when(videoRepository.count()).thenReturn(Mono.just(5L));
+
+        StepVerifier.create(videoService.getAll(pageable))
+                        .expectNextMatches(page -> page.getTotalElements() == 5 && page.getTotalPages() == 3
+                                        && page.getContent().get(1).equals(new VideoModel(2L, "second", "description")))
+                        .verifyComplete();
+    }
+
+    @Test
+    void shouldSignalMissingVideoAsNotFound() {
+        when(videoRepository.findById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(videoService.get(1L))
+                        .expectErrorMatches(e -> e instanceof ResponseStatusException status && status.getStatusCode() == HttpStatus.NOT_FOUND)
+                        .verify();
+    }
+
+    @Test
+    void shouldValidateLazilyBeforeWriting() {
+        Mono<VideoModel> created = videoService.create(new VideoModel(null, " ", null));
+
+        verify(videoRepository, never()).insert(any(), any());
+        StepVerifier.create(created).expectError(IllegalArgumentException.class).verify();
+        verify(videoRepository, never()).insert(any(), any());
+    }
+
+    @Test
+    void shouldCreateUpdateAndDeleteAndKeepSearchIndexCurrent() {
+        when(videoRepository.insert("name", "description")).thenReturn(Mono.just(record(3L, "name")));
+        when(videoRepository.findById(3L)).thenReturn(Mono.just(record(3L, "name")));
+        when(videoRepository.update(3L, 0L, "renamed", "description")).thenReturn(Mono.just(record(3L, "renamed")));
+        when(videoRepository.deleteByIdInBatch(3L)).thenReturn(Mono.just(1));
+        when(videoRepository.deleteByIdInBatch(4L)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(videoService.create(new VideoModel(null, "name", "description")))
+                        .expectNext(new VideoModel(3L, "name", "description")).verifyComplete();
+        StepVerifier.create(videoService.update(3L, new VideoModel(3L, "renamed", "description")))
+                        .expectNext(new VideoModel(3L, "renamed", "description")).verifyComplete();
+        StepVerifier.create(videoService.delete(3L)).expectNext(true).verifyComplete();
+        StepVerifier.create(videoService.delete(4L)).expectNext(false).verifyComplete();
+
+        verify(searchIndex).index(3L, "name", "description");
+        verify(searchIndex).index(3L, "renamed", "description");
+        verify(searchIndex).remove(3L);
+        verify(searchIndex, never()).remove(4L);
+    }
+
+    @Test
+    void shouldRejectUpdatesOfMissingOrConcurrentlyModifiedVideos() {
+        when(videoRepository.findById(5L)).thenReturn(Mono.empty());
+        when(videoRepository.findById(6L)).thenReturn(Mono.just(record(6L, "name")));
+        when(videoRepository.update(6L, 0L, "renamed", null)).thenReturn(Mono.empty());
+
+        StepVerifier.create(videoService.update(5L, new VideoModel(5L, "renamed", null)))
+                        .expectErrorMatches(e -> e instanceof ResponseStatusException status && status.getStatusCode() == HttpStatus.NOT_FOUND)
+                        .verify();
+        StepVerifier.create(videoService.update(6L, new VideoModel(6L, "renamed", null)))
+                        .expectErrorMatches(e -> e instanceof ResponseStatusException status && status.getStatusCode() == HttpStatus.CONFLICT)
+                        .verify();
+        verify(videoRepository, never()).update(eq(5L), anyLong(), any(), any());
+        verify(searchIndex, never()).index(any(), any(String[].class));
+    }
+
+    private static VideoRecord record(Long id, String name) {
+        return new VideoRecord(id, name, "description", 0L, Instant.EPOCH);
+    }
+}
@@ -0,0 +1,82 @@
+package com.spring.demo.core.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.spring.demo.core.model.VideoModel;
+import com.spring.demo.core.service.ReactiveVideoService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Testable
+class ReactiveVideoRouterTest {
+
+    ReactiveVideoService videoService;
+
+    WebTestClient client;
+
+    @BeforeEach
+    void prepareClient() {
+        videoService = mock(ReactiveVideoService.class);
+        client = WebTestClient.bindToRouterFunction(new ReactiveVideoRouter().videoRouter(new ReactiveVideoHandler(videoService))).build();
+    }
+
+    @Test
+    void shouldAnswerOneIndexedClampedPage() {
+        PageRequest pageable = PageRequest.of(1, 100, Sort.by(Sort.Direction.ASC, "id"));
+        when(videoService.getAll(pageable)).thenReturn(Mono.just(new PageImpl<>(List.of(new VideoModel(1L, "name", null)), pageable, 101)));
+
+        client.get().uri("/api/videos?page=2&size=500").exchange()
+                        .expectStatus().isOk()
+                        .expectBody()
+                        .jsonPath("$.content[0].name").isEqualTo("name");
+    }
+
+    @Test
+    void shouldStreamVideosAsJsonLines() {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+        when(videoService.findAll(pageable)).thenReturn(Flux.just(new VideoModel(1L, "first", null), new VideoModel(2L, "second", null)));
+
+        client.get().uri("/api/videos").accept(MediaType.APPLICATION_NDJSON).exchange()
+                        .expectStatus().isOk()
+                        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                        .expectBodyList(VideoModel.class).hasSize(2);
+    }
+
+    @Test
+    void shouldMapErrorsToStatusCodes() {
+        when(videoService.get(1L)).thenReturn(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+        when(videoService.create(any())).thenReturn(Mono.error(new IllegalArgumentException("Video name must not be blank")));
+        when(videoService.update(eq(2L), any())).thenReturn(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+        when(videoService.update(eq(3L), any())).thenReturn(Mono.error(new ResponseStatusException(HttpStatus.CONFLICT)));
+
+        client.get().uri("/api/video/1").exchange().expectStatus().isNotFound();
+        client.post().uri("/api/new-video").contentType(MediaType.APPLICATION_JSON).bodyValue(new VideoModel(null, "", null))
+                        .exchange().expectStatus().isBadRequest();
+        client.post().uri("/api/update-video").contentType(MediaType.APPLICATION_JSON).bodyValue(new VideoModel(2L, "name", null))
+                        .exchange().expectStatus().isNotFound();
+        client.post().uri("/api/update-video").contentType(MediaType.APPLICATION_JSON).bodyValue(new VideoModel(3L, "name", null))
+                        .exchange().expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void shouldDeleteVideo() {
+        when(videoService.delete(3L)).thenReturn(Mono.just(true));
+
+        client.post().uri("/api/delete-video/3").exchange()
+                        .expectStatus().isOk()
+                        .expectBody(Boolean.class).isEqualTo(true);
+    }
+}
@@ -0,0 +1,29 @@
+package com.spring.demo.core.config;
+
+import com.spring.demo.config.ReactiveApplicationBean;
+import com.spring.demo.core.repository.ReactiveVideoRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+@ReactiveApplicationBean
+@EnableR2dbcRepositories(basePackageClasses = ReactiveVideoRepository.class)
+public class ReactivePersistenceConfiguration {
+
+    @Bean(name = "connectionFactory")
+    ConnectionFactory connectionFactory(@Value("${spring.r2dbc.url:r2dbc:pool:postgresql://localhost:5432/postgres}") String url,
+                    @Value("${spring.r2dbc.username:postgres}") String username,
+                    @Value("${spring.r2dbc.password:postgres}") String password) {
+        return ConnectionFactoryBuilder.withUrl(url).username(username).password(password).build();
+    }
+
+    @Bean(name = "databaseClient")
+    DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
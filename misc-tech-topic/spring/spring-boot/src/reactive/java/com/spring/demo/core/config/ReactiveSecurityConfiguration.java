@@ -0,0 +1,52 @@
+package com.spring.demo.core.config;
+
+import com.spring.demo.config.ReactiveApplicationBean;
+import com.spring.demo.core.service.TokenService;
+import javax.crypto.SecretKey;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableWebFluxSecurity
+@ReactiveApplicationBean
+public class ReactiveSecurityConfiguration {
+
+    @Bean(name = "apiSecurityWebFilterChain")
+    SecurityWebFilterChain apiSecurityWebFilterChain(ServerHttpSecurity http, UserDetailsService userDetailsService,
+                    PasswordEncoder passwordEncoder, SecretKey tokenSigningKey) {
+        // principal lookup and bcrypt are blocking, keep them off the event loop
+        ReactiveUserDetailsService reactiveUserDetailsService = username -> Mono
+                        .fromCallable(() -> userDetailsService.loadUserByUsername(username))
+                        .subscribeOn(Schedulers.boundedElastic());
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
+                        reactiveUserDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+
+        return http.securityMatcher(ServerWebExchangeMatchers.pathMatchers("/api/**"))
+                        .authorizeExchange(customizer -> customizer.anyExchange().authenticated())
+                        .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                        .cors(ServerHttpSecurity.CorsSpec::disable)
+                        .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                        .httpBasic(customizer -> customizer.authenticationManager(authenticationManager))
+                        .oauth2ResourceServer(customizer -> customizer.jwt(jwt -> jwt
+                                        .jwtDecoder(NimbusReactiveJwtDecoder.withSecretKey(tokenSigningKey)
+                                                        .macAlgorithm(TokenService.SIGNING_ALGORITHM).build())
+                                        .jwtAuthenticationConverter(new ReactiveJwtAuthenticationConverterAdapter(
+                                                        SecurityConfiguration.jwtAuthenticationConverter()))))
+                        .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.spring.demo.core.entity;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("videos")
+public record VideoRecord(@Id Long id, @Column("name") String name, @Column("description") String description,
+                @Column("version") long version, @Column("last_modified") Instant lastModified) {
+}
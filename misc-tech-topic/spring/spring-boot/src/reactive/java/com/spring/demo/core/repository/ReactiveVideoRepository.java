@@ -0,0 +1,27 @@
+package com.spring.demo.core.repository;
+
+import com.spring.demo.core.entity.VideoRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveVideoRepository extends R2dbcRepository<VideoRecord, Long> {
+
+    Flux<VideoRecord> findAllBy(Pageable pageable);
+
+    // nextval reserves a whole pooled block for this row, so the id never collides with JPA allocations
+    @Query("insert into videos (id, name, description, version, last_modified) "
+                    + "values (nextval('videos_seq'), :name, :description, 0, current_timestamp) returning *")
+    Mono<VideoRecord> insert(String name, String description);
+
+    @Query("update videos set name = :name, description = :description, version = version + 1, last_modified = current_timestamp "
+                    + "where id = :id and version = :version returning *")
+    Mono<VideoRecord> update(Long id, long version, String name, String description);
+
+    @Modifying
+    @Query("delete from videos where id = :id")
+    Mono<Integer> deleteByIdInBatch(Long id);
+}
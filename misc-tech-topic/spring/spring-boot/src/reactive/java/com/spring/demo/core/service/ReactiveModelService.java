@@ -0,0 +1,49 @@
+package com.spring.demo.core.service;
+
+import java.util.Objects;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveModelService<M> {
+
+    Mono<Long> count();
+
+    Mono<M> find(Long id);
+
+    Flux<M> findAll(Pageable pageable);
+
+    Mono<M> create(M model);
+
+    Mono<M> update(Long id, M model);
+
+    Mono<Boolean> delete(Long id);
+
+    default Mono<M> get(Long id) {
+        return find(id).switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    default Mono<Page<M>> getAll(Pageable pageable) {
+        return Mono.zip(findAll(pageable).collectList(), count()).map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    default void requirePresentId(Long id) {
+        if (Objects.isNull(id)) {
+            throw new IllegalArgumentException("Id must not be null");
+        }
+    }
+
+    default void requireModel(M model) {
+        if (Objects.isNull(model)) {
+            throw new IllegalArgumentException("Model must not be null");
+        }
+    }
+
+    static ResponseStatusException notFound(Long id) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, String.format("No model found for id %d", id));
+    }
+}
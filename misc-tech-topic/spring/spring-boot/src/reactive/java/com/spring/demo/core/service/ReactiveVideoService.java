@@ -0,0 +1,93 @@
+package com.spring.demo.core.service;
+
+import com.spring.demo.config.ReactiveApplicationBean;
+import com.spring.demo.core.entity.VideoRecord;
+import com.spring.demo.core.model.VideoModel;
+import com.spring.demo.core.repository.ReactiveVideoRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ReactiveApplicationBean
+public class ReactiveVideoService implements ReactiveModelService<VideoModel> {
+
+    private final ReactiveVideoRepository videoRepository;
+
+    private final ObjectProvider<VideoSearchIndex> searchIndex;
+
+    public ReactiveVideoService(ReactiveVideoRepository videoRepository, ObjectProvider<VideoSearchIndex> searchIndex) {
+        this.videoRepository = videoRepository;
+        this.searchIndex = searchIndex;
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return videoRepository.count();
+    }
+
+    @Override
+    public Mono<VideoModel> find(Long id) {
+        return Mono.defer(() -> {
+            requirePresentId(id);
+            return videoRepository.findById(id).map(ReactiveVideoService::convertFrom);
+        });
+    }
+
+    @Override
+    public Flux<VideoModel> findAll(Pageable pageable) {
+        return videoRepository.findAllBy(pageable).map(ReactiveVideoService::convertFrom);
+    }
+
+    @Override
+    public Mono<VideoModel> create(VideoModel model) {
+        return Mono.defer(() -> {
+            requireModel(model);
+            VideoService.validate(model.name(), model.description());
+            return videoRepository.insert(model.name(), model.description()).doOnNext(this::reindex).map(ReactiveVideoService::convertFrom);
+        });
+    }
+
+    @Override
+    public Mono<VideoModel> update(Long id, VideoModel model) {
+        return Mono.defer(() -> {
+            requirePresentId(id);
+            requireModel(model);
+            VideoService.validate(model.name(), model.description());
+            // same optimistic check as the JPA update, a concurrent writer bumps the version between the read and the write
+            return videoRepository.findById(id)
+                            .switchIfEmpty(Mono.error(() -> ReactiveModelService.notFound(id)))
+                            .flatMap(current -> videoRepository.update(id, current.version(), model.name(), model.description()))
+                            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.CONFLICT,
+                                            String.format("Video %d was modified concurrently", id))))
+                            .doOnNext(this::reindex)
+                            .map(ReactiveVideoService::convertFrom);
+        });
+    }
+
+    @Override
+    public Mono<Boolean> delete(Long id) {
+        return Mono.defer(() -> {
+            requirePresentId(id);
+            return videoRepository.deleteByIdInBatch(id).map(deleted -> deleted > 0)
+                            .doOnNext(deleted -> {
+                                if (deleted) {
+                                    searchIndex.ifAvailable(index -> index.remove(id));
+                                }
+                            });
+        });
+    }
+
+    // the statements run in auto-commit, so the row is committed once it is emitted
+    private void reindex(VideoRecord video) {
+        searchIndex.ifAvailable(index -> index.index(video.id(), video.name(), video.description()));
+    }
+
+    private static VideoModel convertFrom(VideoRecord video) {
+        return new VideoModel(video.id(), video.name(), video.description());
+    }
+}
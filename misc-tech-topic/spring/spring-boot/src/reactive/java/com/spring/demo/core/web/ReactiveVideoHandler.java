@@ -0,0 +1,78 @@
+package com.spring.demo.core.web;
+
+import com.spring.demo.config.ReactiveApplicationBean;
+import com.spring.demo.core.model.VideoModel;
+import com.spring.demo.core.service.ReactiveVideoService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@Component
+@ReactiveApplicationBean
+public class ReactiveVideoHandler {
+
+    private final ReactiveVideoService videoService;
+
+    public ReactiveVideoHandler(ReactiveVideoService videoService) {
+        this.videoService = videoService;
+    }
+
+    public Mono<ServerResponse> getVideos(ServerRequest request) {
+        return handle(videoService.getAll(pageable(request)));
+    }
+
+    public Mono<ServerResponse> streamVideos(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                        .body(videoService.findAll(pageable(request)), VideoModel.class);
+    }
+
+    public Mono<ServerResponse> getVideo(ServerRequest request) {
+        return handle(videoService.get(id(request)));
+    }
+
+    public Mono<ServerResponse> addVideo(ServerRequest request) {
+        return handle(request.bodyToMono(VideoModel.class).flatMap(videoService::create));
+    }
+
+    public Mono<ServerResponse> updateVideo(ServerRequest request) {
+        return handle(request.bodyToMono(VideoModel.class).flatMap(video -> videoService.update(video.id(), video)));
+    }
+
+    public Mono<ServerResponse> deleteVideo(ServerRequest request) {
+        return handle(videoService.delete(id(request)));
+    }
+
+    private static Mono<ServerResponse> handle(Mono<?> result) {
+        return result.flatMap(body -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body))
+                        .onErrorResume(IllegalArgumentException.class, e -> ServerResponse.badRequest().build())
+                        .onErrorResume(ResponseStatusException.class, e -> ServerResponse.status(e.getStatusCode()).build());
+    }
+
+    private static Pageable pageable(ServerRequest request) {
+        final int pageNumber = Math.max(intParam(request, "page", 1), 1);
+        final int pageSize = Math.min(Math.max(intParam(request, "size", 10), 1), 100);
+        return PageRequest.of(pageNumber - 1, pageSize, Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static Long id(ServerRequest request) {
+        try {
+            return Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
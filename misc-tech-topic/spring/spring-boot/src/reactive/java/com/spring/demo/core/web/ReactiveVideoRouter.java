@@ -0,0 +1,31 @@
+package com.spring.demo.core.web;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+import com.spring.demo.config.ReactiveApplicationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+@Configuration
+@ReactiveApplicationBean
+public class ReactiveVideoRouter {
+
+    private static final RequestPredicate ACCEPT_JSON_LINES = request -> request.headers().accept().contains(MediaType.APPLICATION_NDJSON);
+
+    @Bean(name = "videoRouter")
+    RouterFunction<ServerResponse> videoRouter(ReactiveVideoHandler videoHandler) {
+        return RouterFunctions.route()
+                        .path("/api", api -> api
+                                        .GET("/videos", ACCEPT_JSON_LINES, videoHandler::streamVideos)
+                                        .GET("/videos", videoHandler::getVideos)
+                                        .GET("/video/{id}", videoHandler::getVideo)
+                                        .POST("/new-video", contentType(MediaType.APPLICATION_JSON), videoHandler::addVideo)
+                                        .POST("/update-video", contentType(MediaType.APPLICATION_JSON), videoHandler::updateVideo)
+                                        .POST("/delete-video/{id}", videoHandler::deleteVideo))
+                        .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.spring.demo.core.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.spring.demo.core.model.SearchCriteria;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+
+@Testable
+class CompiledCriteriaPipelineTest {
+
+    enum TestCriteria implements CriteriaDefinition {
+
+        NAME, SIZE, TAG, MISSING;
+
+        @Override
+        public Class<?> type() {
+            return String.class;
+        }
+    }
+
+    private static final CompiledCriteriaPipeline<String> PIPELINE = CompiledCriteriaPipeline.<String>builder()
+                    .accept(TestCriteria.NAME, (String v) -> "name=" + v)
+                    .accept(TestCriteria.SIZE, (Integer v) -> v > 10, v -> "size=" + v)
+                    .acceptOptional(TestCriteria.TAG, (String v) -> Optional.of("tag=" + v))
+                    .accept(TestCriteria.MISSING, (String v) -> "missing=" + v)
+                    .build();
+
+    private static CriteriaCollection criteria(int size) {
+        return SearchCriteria.empty().addCriteria(TestCriteria.NAME, "video").addCriteria(TestCriteria.SIZE, size).addCriteria(
+                        TestCriteria.TAG, "news");
+    }
+
+    private static CriteriaPipeline<String> baseline(CriteriaCollection criteria) {
+        return CriteriaPipeline.<String>of(criteria)
+                        .accept(TestCriteria.NAME, (String v) -> "name=" + v)
+                        .accept(TestCriteria.SIZE, (Integer v) -> v > 10, v -> "size=" + v)
+                        .acceptOptional(TestCriteria.TAG, (String v) -> Optional.of("tag=" + v))
+                        .accept(TestCriteria.MISSING, (String v) -> "missing=" + v);
+    }
+
+    @Test
+    void shouldCollectMatchingCriteriaInDefinitionOrder() {
+        assertEquals(List.of("name=video", "size=42", "tag=news"), PIPELINE.toList(criteria(42)));
+        assertEquals(List.of("name=video", "tag=news"), PIPELINE.toList(criteria(1)));
+        assertEquals(Set.of("name=video", "tag=news"), PIPELINE.toSet(criteria(1)));
+        assertEquals(2, PIPELINE.count(criteria(1)));
+        assertEquals(4, PIPELINE.size());
+    }
+
+    @Test
+    void shouldMatchBaselinePipeline() {
+        for (int size : new int[] {1, 42}) {
+            assertEquals(baseline(criteria(size)).toList(), PIPELINE.toList(criteria(size)));
+            assertEquals(baseline(criteria(size)).count(), PIPELINE.count(criteria(size)));
+            assertEquals(baseline(criteria(size)).findFirst(), PIPELINE.findFirst(criteria(size)));
+        }
+        assertEquals(baseline(SearchCriteria.empty()).toList(), PIPELINE.toList(SearchCriteria.empty()));
+    }
+
+    @Test
+    void shouldReduceMatchingCriteriaWithoutCollecting() {
+        assertEquals("name=video,size=42,tag=news",
+                        PIPELINE.reduce(criteria(42), "", (all, next) -> all.isEmpty() ? next : all + "," + next));
+        assertEquals("", PIPELINE.reduce(SearchCriteria.empty(), "", (all, next) -> all + next));
+    }
+
+    @Test
+    void shouldFindFirstMatchOrNothing() {
+        assertEquals(Optional.of("name=video"), PIPELINE.findFirst(criteria(1)));
+        assertEquals(Optional.empty(), PIPELINE.findFirst(SearchCriteria.empty()));
+        assertEquals(Optional.of("size=42"), PIPELINE.findAny(SearchCriteria.empty().addCriteria(TestCriteria.SIZE, 42)));
+    }
+
+    @Test
+    void shouldKeepEmptyOptionalResultsLikeBaseline() {
+        CriteriaCollection criteria = SearchCriteria.empty().addCriteria(TestCriteria.TAG, "news");
+        CompiledCriteriaPipeline<String> pipeline = CompiledCriteriaPipeline.<String>builder()
+                        .acceptOptional(TestCriteria.TAG, (String v) -> Optional.empty())
+                        .build();
+        Supplier<CriteriaPipeline<String>> baseline = () -> CriteriaPipeline.<String>of(criteria)
+                        .acceptOptional(TestCriteria.TAG, (String v) -> Optional.empty());
+
+        assertEquals(baseline.get().toList(), pipeline.toList(criteria));
+        assertEquals(1, pipeline.count(criteria));
+        assertThrows(NullPointerException.class, () -> baseline.get().findFirst());
+        assertThrows(NullPointerException.class, () -> pipeline.findFirst(criteria));
+    }
+}
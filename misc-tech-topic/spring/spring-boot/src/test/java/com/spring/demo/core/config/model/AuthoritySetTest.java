@@ -0,0 +1,78 @@
+package com.spring.demo.core.config.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+@Testable
+class AuthoritySetTest {
+
+    @Test
+    void shouldTestMembershipAgainstInternedBits() {
+        AuthoritySet authorities = AuthoritySet.ofGrants(List.of("user:manage", "user:list", "user:list"));
+
+        assertEquals(2, authorities.size());
+        assertTrue(authorities.hasAuthority("user:manage"));
+        assertTrue(authorities.hasAnyAuthority("video:list", "user:list"));
+        assertFalse(authorities.hasAuthority("video:list"));
+        assertFalse(authorities.hasAuthority(null));
+        assertTrue(authorities.contains(new SimpleGrantedAuthority("user:list")));
+        assertEquals(Set.of(new SimpleGrantedAuthority("user:manage"), new SimpleGrantedAuthority("user:list")), authorities);
+    }
+
+    @Test
+    void shouldShareInternedAuthorityInstances() {
+        GrantedAuthority first = AuthoritySet.ofGrants(List.of("video:manage")).iterator().next();
+        GrantedAuthority second = AuthoritySet.of(List.of(new SimpleGrantedAuthority("video:manage"))).iterator().next();
+
+        assertSame(first, second);
+        assertSame(AuthoritySet.empty(), AuthoritySet.ofGrants(List.of()));
+    }
+
+    @Test
+    void shouldInternConcurrentlyWithoutLosingAuthorities() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<AuthoritySet>> tasks = new ArrayList<>();
+            for (int i = 0; i < 256; i++) {
+                List<String> grants = List.of("concurrent:" + (i % 64), "concurrent:" + ((i + 1) % 64));
+                tasks.add(() -> AuthoritySet.ofGrants(grants));
+            }
+            for (Future<AuthoritySet> result : executor.invokeAll(tasks)) {
+                AuthoritySet authorities = result.get();
+                assertEquals(2, authorities.size());
+                authorities.forEach(authority -> assertTrue(authorities.hasAuthority(authority.getAuthority())));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldLookupUnknownAuthoritiesWithoutInterning() {
+        AuthoritySet.ofGrants(List.of("lookup:known"));
+        int interned = AuthoritySet.internedSize();
+
+        AuthoritySet authorities = AuthoritySet.lookup(List.of(new SimpleGrantedAuthority("lookup:known"),
+                        new SimpleGrantedAuthority("SCOPE_lookup:unknown")));
+
+        assertEquals(interned, AuthoritySet.internedSize());
+        assertEquals(2, authorities.size());
+        assertTrue(authorities.hasAuthority("lookup:known"));
+        assertTrue(authorities.hasAuthority("SCOPE_lookup:unknown"));
+        assertFalse(authorities.hasAuthority("lookup:other"));
+        assertEquals(Set.of(new SimpleGrantedAuthority("lookup:known"), new SimpleGrantedAuthority("SCOPE_lookup:unknown")), authorities);
+    }
+}
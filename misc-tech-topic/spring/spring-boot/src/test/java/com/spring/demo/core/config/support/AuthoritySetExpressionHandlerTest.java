@@ -0,0 +1,97 @@
+package com.spring.demo.core.config.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.spring.demo.core.config.model.AuthoritySet;
+import com.spring.demo.core.config.model.MutableUserDetails;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@Testable
+@SpringJUnitConfig
+class AuthoritySetExpressionHandlerTest {
+
+    @Configuration
+    @EnableMethodSecurity
+    static class MethodSecurityConfiguration {
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        static MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
+            return new AuthoritySetExpressionHandler();
+        }
+
+        @Bean
+        SecuredService securedService() {
+            return new SecuredService();
+        }
+    }
+
+    static class SecuredService {
+
+        @PreAuthorize("hasAuthority('video:manage')")
+        public String manage() {
+            return "managed";
+        }
+
+        @PreAuthorize("hasAnyAuthority('user:manage', 'video:list')")
+        public String list() {
+            return "listed";
+        }
+    }
+
+    @Autowired
+    SecuredService securedService;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthorizeFromAuthenticationAuthoritiesOnly() {
+        // the token was reduced below the principal's own authorities, only the token's may grant access
+        UserDetails principal = new MutableUserDetails("admin", null, AuthoritySet.ofGrants(List.of("video:manage", "video:list")));
+        authenticate(new TestingAuthenticationToken(principal, null, "video:list"));
+
+        assertEquals("listed", securedService.list());
+        assertThrows(AuthorizationDeniedException.class, securedService::manage);
+    }
+
+    @Test
+    void shouldDenyWhenAuthenticationCarriesNoAuthorities() {
+        UserDetails principal = new MutableUserDetails("admin", null, AuthoritySet.ofGrants(List.of("video:manage", "video:list")));
+        authenticate(new TestingAuthenticationToken(principal, null, List.of()));
+
+        assertThrows(AuthorizationDeniedException.class, securedService::list);
+        assertThrows(AuthorizationDeniedException.class, securedService::manage);
+    }
+
+    @Test
+    void shouldAuthorizeFromAuthenticationAuthoritiesWithoutAuthoritySet() {
+        authenticate(new TestingAuthenticationToken("token", null, "video:manage"));
+
+        assertEquals("managed", securedService.manage());
+        assertThrows(AuthorizationDeniedException.class, securedService::list);
+    }
+
+    private static void authenticate(TestingAuthenticationToken authentication) {
+        authentication.setAuthenticated(true);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
@@ -0,0 +1,44 @@
+package com.spring.demo.core.config.support;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Testable
+class CachingPasswordEncoderTest {
+
+    @Test
+    void shouldSkipDelegateForVerifiedCredentials() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches("secret", "{hash}")).thenReturn(true);
+        CachingPasswordEncoder encoder = new CachingPasswordEncoder(delegate, Duration.ofMinutes(1), 10);
+
+        assertTrue(encoder.matches("secret", "{hash}"));
+        assertTrue(encoder.matches("secret", "{hash}"));
+        verify(delegate, times(1)).matches("secret", "{hash}");
+
+        assertTrue(encoder.getNativeCache().asMap().keySet().stream().noneMatch(key -> key.contains("secret")));
+    }
+
+    @Test
+    void shouldNotCacheRejectedOrRotatedCredentials() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches("secret", "{hash}")).thenReturn(true);
+        CachingPasswordEncoder encoder = new CachingPasswordEncoder(delegate, Duration.ofMinutes(1), 10);
+
+        assertFalse(encoder.matches("wrong", "{hash}"));
+        assertFalse(encoder.matches("wrong", "{hash}"));
+        verify(delegate, times(2)).matches("wrong", "{hash}");
+
+        assertTrue(encoder.matches("secret", "{hash}"));
+        assertFalse(encoder.matches("secret", "{rotated}"));
+        verify(delegate, times(1)).matches("secret", "{rotated}");
+    }
+}
@@ -0,0 +1,90 @@
+package com.spring.demo.core.config.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Testable
+class OptimisticLockRetryInterceptorTest {
+
+    MeterRegistry meterRegistry;
+
+    AtomicInteger attempts;
+
+    @BeforeEach
+    void prepareRegistry() {
+        meterRegistry = new SimpleMeterRegistry();
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    void shouldRetryConflictsUntilCommitSucceeds() throws Exception {
+        Callable<String> update = proxy(3, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "updated";
+        });
+
+        assertEquals("updated", update.call());
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.get(OptimisticLockRetryInterceptor.CONFLICT_COUNTER).tag("outcome", "retried").counter().count());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        Callable<String> update = proxy(3, () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+        });
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, update::call);
+        assertEquals(3, attempts.get());
+        assertEquals(1, meterRegistry.get(OptimisticLockRetryInterceptor.CONFLICT_COUNTER).tag("outcome", "exhausted").counter().count());
+    }
+
+    @Test
+    void shouldNotRetryOtherFailuresOrInsideEnclosingTransaction() {
+        Callable<String> invalid = proxy(3, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Video name must not be blank");
+        });
+        assertThrows(IllegalArgumentException.class, invalid::call);
+        assertEquals(1, attempts.get());
+
+        Callable<String> nested = proxy(3, () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+        });
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, nested::call);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void shouldRejectNonPositiveAttempts() {
+        assertThrows(IllegalArgumentException.class, () -> new OptimisticLockRetryInterceptor(0, Duration.ZERO, () -> null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Callable<String> proxy(int maxAttempts, Callable<String> target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(Callable.class);
+        factory.addAdvice(new OptimisticLockRetryInterceptor(maxAttempts, Duration.ofMillis(1), () -> meterRegistry));
+        return (Callable<String>) factory.getProxy();
+    }
+}
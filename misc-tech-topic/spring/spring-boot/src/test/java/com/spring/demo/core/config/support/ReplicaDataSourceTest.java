@@ -0,0 +1,123 @@
+package com.spring.demo.core.config.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Testable
+class ReplicaDataSourceTest {
+
+    EmbeddedDatabase primary;
+
+    EmbeddedDatabase replica;
+
+    MeterRegistry meterRegistry;
+
+    ReplicaDataSource replicaDataSource;
+
+    @BeforeEach
+    void prepareDatabases() {
+        primary = database("primary");
+        replica = database("replica");
+        meterRegistry = new SimpleMeterRegistry();
+        // the lag is probed explicitly instead of on the background schedule
+        replicaDataSource = new ReplicaDataSource(replica, primary, "select lag from replica_status", Duration.ofSeconds(5),
+                        Duration.ofHours(1), () -> meterRegistry);
+    }
+
+    @AfterEach
+    void shutdownDatabases() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        JdbcTemplate jdbcTemplate = routed();
+
+        assertEquals("replica", node(jdbcTemplate, true));
+        assertEquals("primary", node(jdbcTemplate, false));
+        assertEquals(1, meterRegistry.get(ReplicaDataSource.CONNECTION_COUNTER).tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhileReplicaLags() {
+        JdbcTemplate jdbcTemplate = routed();
+
+        new JdbcTemplate(replica).update("update replica_status set lag = 12.5");
+        replicaDataSource.checkLag();
+        assertEquals("primary", node(jdbcTemplate, true));
+        assertEquals(12.5, meterRegistry.get(ReplicaDataSource.LAG_GAUGE).gauge().value());
+        assertEquals(1, meterRegistry.get(ReplicaDataSource.CONNECTION_COUNTER).tag("reason", "lagging").counter().count());
+
+        new JdbcTemplate(replica).update("update replica_status set lag = 0.5");
+        replicaDataSource.checkLag();
+        assertEquals("replica", node(jdbcTemplate, true));
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnavailable() {
+        JdbcTemplate jdbcTemplate = routed();
+
+        replica.shutdown();
+        replicaDataSource.checkLag();
+        assertEquals("primary", node(jdbcTemplate, true));
+        assertEquals(1, meterRegistry.get(ReplicaDataSource.CONNECTION_COUNTER).tag("reason", "unavailable").counter().count());
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaRefusesConnections() {
+        replicaDataSource = new ReplicaDataSource(new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", ""), primary,
+                        "select 0", Duration.ofSeconds(5), Duration.ofHours(1), () -> meterRegistry);
+        JdbcTemplate jdbcTemplate = routed();
+
+        assertEquals("primary", node(jdbcTemplate, true));
+        assertEquals("primary", node(jdbcTemplate, true));
+        assertEquals(2, meterRegistry.get(ReplicaDataSource.CONNECTION_COUNTER).tag("reason", "unavailable").counter().count());
+    }
+
+    @Test
+    void shouldPassCredentialsThroughToReplica() throws Exception {
+        try (Connection connection = replicaDataSource.getConnection("sa", "")) {
+            assertEquals("replica", new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                            .queryForObject("select name from node", String.class));
+        }
+    }
+
+    private JdbcTemplate routed() {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return new JdbcTemplate(dataSource);
+    }
+
+    private static String node(JdbcTemplate jdbcTemplate, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table node (name varchar(16))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        jdbcTemplate.execute("create table replica_status (lag double precision)");
+        jdbcTemplate.update("insert into replica_status (lag) values (0)");
+        return database;
+    }
+}
@@ -0,0 +1,117 @@
+package com.spring.demo.core.config.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.spring.demo.core.converter.VideoConverter;
+import com.spring.demo.core.entity.VideoEntity;
+import com.spring.demo.core.repository.VideoRepository;
+import com.spring.demo.core.service.VideoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+
+@Testable
+class ServiceMetricsInterceptorTest {
+
+    StatementCounter statementCounter;
+
+    MeterRegistry meterRegistry;
+
+    VideoRepository videoRepository;
+
+    VideoService videoService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void prepareService() {
+        statementCounter = new StatementCounter();
+        meterRegistry = new SimpleMeterRegistry();
+        videoRepository = mock(VideoRepository.class);
+
+        ProxyFactory factory = new ProxyFactory(new VideoService(videoRepository, mock(VideoConverter.class),
+                        mock(ObjectProvider.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(new DefaultPointcutAdvisor(ServiceMetricsInterceptor.pointcut(),
+                        new ServiceMetricsInterceptor(statementCounter, 5, () -> meterRegistry)));
+        videoService = (VideoService) factory.getProxy();
+    }
+
+    @Test
+    void shouldTimeServiceCallsAndCountTheirStatements() {
+        when(videoRepository.count()).thenAnswer(invocation -> {
+            statementCounter.inspect("select count(v1_0.id) from videos v1_0");
+            return 3L;
+        });
+
+        assertEquals(3L, videoService.count());
+        assertEquals(3L, videoService.count());
+
+        assertEquals(2, meterRegistry.get(ServiceMetricsInterceptor.CALL_TIMER).tag("entity", "VideoEntity").tag("method", "count")
+                        .tag("exception", "none").timer().count());
+        assertEquals(2, meterRegistry.get(ServiceMetricsInterceptor.STATEMENT_SUMMARY).tag("method", "count").summary().totalAmount());
+        assertEquals(0, meterRegistry.get(ServiceMetricsInterceptor.N_PLUS_ONE_COUNTER).tag("method", "count").counter().count());
+    }
+
+    @Test
+    void shouldFlagRepeatedStatementsAsNPlusOne() {
+        when(videoRepository.findAll()).thenAnswer(invocation -> {
+            statementCounter.inspect("select v1_0.id from videos v1_0");
+            for (int i = 0; i < 5; i++) {
+                statementCounter.inspect("select r1_0.id from roles r1_0 where r1_0.id=?");
+            }
+            return List.of(new VideoEntity(1L, "video", null));
+        });
+
+        videoService.findAll();
+
+        assertEquals(6, meterRegistry.get(ServiceMetricsInterceptor.STATEMENT_SUMMARY).tag("method", "findAll").summary().totalAmount());
+        assertEquals(1, meterRegistry.get(ServiceMetricsInterceptor.N_PLUS_ONE_COUNTER).tag("method", "findAll").counter().count());
+    }
+
+    @Test
+    void shouldTagFailuresAndSkipHooks() {
+        assertThrows(IllegalArgumentException.class, () -> videoService.get(null));
+        assertEquals(1, meterRegistry.get(ServiceMetricsInterceptor.CALL_TIMER).tag("method", "get")
+                        .tag("exception", "IllegalArgumentException").timer().count());
+
+        videoService.repository();
+        videoService.validateCreateEntity(new VideoEntity("video", null));
+        assertTrue(meterRegistry.find(ServiceMetricsInterceptor.CALL_TIMER).tag("method", "repository").timers().isEmpty());
+        assertTrue(meterRegistry.find(ServiceMetricsInterceptor.CALL_TIMER).tag("method", "validateCreateEntity").timers().isEmpty());
+    }
+
+    @Test
+    void shouldAttributeNestedStatementsToEveryOpenScope() {
+        try (StatementCounter.Scope outer = statementCounter.open()) {
+            statementCounter.inspect("select 1");
+            try (StatementCounter.Scope inner = statementCounter.open()) {
+                statementCounter.inspect("select 2");
+                assertEquals(1, inner.count());
+            }
+            statementCounter.inspect("select 1");
+            assertEquals(3, outer.count());
+            assertEquals("select 1", outer.mostRepeated().getKey());
+        }
+        assertEquals("select 3", statementCounter.inspect("select 3"));
+        assertFalse(ServiceMetricsInterceptor.pointcut().getMethodMatcher().matches(methodNamed("afterDelete"), VideoService.class));
+    }
+
+    private static Method methodNamed(String name) {
+        try {
+            return VideoService.class.getMethod(name, Long.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.spring.demo.core.config.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+@Testable
+class TimedExpressionParserTest {
+
+    @Test
+    void shouldNotTimeTemplateExpressions() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TimedExpressionParser parser = new TimedExpressionParser(() -> meterRegistry);
+
+        Expression expression = parser.parseExpression("user #{#user}", ParserContext.TEMPLATE_EXPRESSION);
+
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("user", "admin");
+        assertEquals("user admin", expression.getValue(context));
+        assertTrue(meterRegistry.find(TimedExpressionParser.EVALUATION_TIMER).timers().isEmpty());
+    }
+
+    @Test
+    void shouldRecordEvaluationLatencyPerExpression() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TimedExpressionParser parser = new TimedExpressionParser(() -> meterRegistry);
+        Expression expression = parser.parseExpression("get('name') == #user");
+
+        StandardEvaluationContext context = new StandardEvaluationContext(Map.of("name", "admin"));
+        context.setVariable("user", "admin");
+        for (int i = 0; i < 5; i++) {
+            assertTrue(expression.getValue(context, Boolean.class));
+        }
+        context.setVariable("user", "guest");
+        assertFalse(expression.getValue(context, Boolean.class));
+
+        assertEquals(6, meterRegistry.get(TimedExpressionParser.EVALUATION_TIMER)
+                        .tag("expression", "get('name') == #user").timer().count());
+    }
+}
@@ -0,0 +1,122 @@
+package com.spring.demo.core.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+
+@Testable
+class EntitySequenceTest {
+
+    @Test
+    void shouldMapEveryEntityToItsPooledSequence() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                        .applySetting("hibernate.dialect", PostgreSQLDialect.class.getName())
+                        .applySetting("hibernate.boot.allow_jdbc_metadata_access", "false").build();
+        try {
+            Metadata metadata = new MetadataSources(registry).addAnnotatedClass(VideoEntity.class).addAnnotatedClass(UserEntity.class)
+                            .addAnnotatedClass(RoleEntity.class).addAnnotatedClass(AuthorityEntity.class).buildMetadata();
+
+            Map<String, Integer> sequences = new HashMap<>();
+            metadata.getDatabase().getNamespaces().forEach(namespace -> namespace.getSequences()
+                            .forEach(sequence -> sequences.put(sequence.getName().getSequenceName().getText(), sequence.getIncrementSize())));
+
+            assertEquals(Map.of("videos_seq", AbstractEntity.ID_ALLOCATION_SIZE, "users_seq", AbstractEntity.ID_ALLOCATION_SIZE,
+                            "roles_seq", AbstractEntity.ID_ALLOCATION_SIZE, "auth_seq", AbstractEntity.ID_ALLOCATION_SIZE), sequences);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    @Test
+    void shouldGenerateEveryEntityIdFromItsOwnSequence() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                        .applySetting("hibernate.dialect", PostgreSQLDialect.class.getName())
+                        .applySetting("hibernate.boot.allow_jdbc_metadata_access", "false").build();
+        try (SessionFactory sessionFactory = new MetadataSources(registry).addAnnotatedClass(VideoEntity.class)
+                        .addAnnotatedClass(UserEntity.class).addAnnotatedClass(RoleEntity.class).addAnnotatedClass(AuthorityEntity.class)
+                        .buildMetadata().buildSessionFactory()) {
+            MappingMetamodel metamodel = sessionFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+
+            Map<Class<?>, String> sequences = new HashMap<>();
+            for (Class<?> entityClass : List.of(VideoEntity.class, UserEntity.class, RoleEntity.class, AuthorityEntity.class)) {
+                SequenceStyleGenerator generator = (SequenceStyleGenerator) metamodel.getEntityDescriptor(entityClass).getGenerator();
+                sequences.put(entityClass, generator.getDatabaseStructure().getPhysicalName().getObjectName().getText());
+                assertEquals(AbstractEntity.ID_ALLOCATION_SIZE, generator.getDatabaseStructure().getIncrementSize());
+            }
+
+            assertEquals(Map.of(VideoEntity.class, "videos_seq", UserEntity.class, "users_seq", RoleEntity.class, "roles_seq",
+                            AuthorityEntity.class, "auth_seq"), sequences);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    @Test
+    void shouldReduceSequenceRoundTripsForBulkInserts() {
+        final int inserts = 1000;
+
+        assertEquals(inserts, roundTrips(StandardOptimizerDescriptor.NONE, 1, inserts));
+        assertEquals(inserts / AbstractEntity.ID_ALLOCATION_SIZE,
+                        roundTrips(StandardOptimizerDescriptor.POOLED_LO, AbstractEntity.ID_ALLOCATION_SIZE, inserts));
+        assertTrue(roundTrips(StandardOptimizerDescriptor.POOLED, AbstractEntity.ID_ALLOCATION_SIZE, inserts) <= inserts
+                        / AbstractEntity.ID_ALLOCATION_SIZE + 1);
+    }
+
+    private static int roundTrips(StandardOptimizerDescriptor descriptor, int incrementSize, int inserts) {
+        Optimizer optimizer = OptimizerFactory.buildOptimizer(descriptor, Long.class, incrementSize, 1);
+        SequenceCallback sequence = new SequenceCallback(incrementSize);
+
+        Set<Object> ids = new HashSet<>();
+        for (int i = 0; i < inserts; i++) {
+            assertTrue(ids.add(optimizer.generate(sequence)));
+        }
+        return sequence.calls;
+    }
+
+    private static final class SequenceCallback implements AccessCallback {
+
+        private final int incrementSize;
+
+        private long next = 1;
+
+        private int calls;
+
+        SequenceCallback(int incrementSize) {
+            this.incrementSize = incrementSize;
+        }
+
+        @Override
+        public IntegralDataTypeHolder getNextValue() {
+            calls++;
+            IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(next);
+            next += incrementSize;
+            return value;
+        }
+
+        @Override
+        public String getTenantIdentifier() {
+            return null;
+        }
+    }
+}
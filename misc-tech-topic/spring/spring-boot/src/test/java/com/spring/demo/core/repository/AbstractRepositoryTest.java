@@ -1,5 +1,6 @@
 package com.spring.demo.core.repository;
 
+import com.spring.demo.core.config.PersistenceConfiguration;
 import org.junit.platform.commons.annotation.Testable;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -7,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
 import org.springframework.lang.NonNull;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.support.TestPropertySourceUtils;
@@ -17,6 +19,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 @Testable
 @DataJpaTest
 @Testcontainers
+@Import(PersistenceConfiguration.class)
 @ContextConfiguration(initializers = AbstractRepositoryTest.class)
 @AutoConfigureTestDatabase(replace = Replace.NONE, connection = EmbeddedDatabaseConnection.NONE)
 public class AbstractRepositoryTest implements ApplicationContextInitializer<ConfigurableApplicationContext> {
@@ -31,6 +34,7 @@ public class AbstractRepositoryTest implements ApplicationContextInitializer<Con
                         "spring.datasource.username=" + postgresDatabase.getUsername(),
                         "spring.datasource.password=" + postgresDatabase.getPassword(),
                         "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
-                        "spring.datasource.driverClassName=org.postgresql.Driver", "spring.jpa.hibernate.ddl-auto=create-drop");
+                        "spring.datasource.driverClassName=org.postgresql.Driver", "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.generate_statistics=true");
     }
 }
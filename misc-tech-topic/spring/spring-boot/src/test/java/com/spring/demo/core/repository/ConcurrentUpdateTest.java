@@ -0,0 +1,118 @@
+package com.spring.demo.core.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import com.spring.demo.core.converter.VideoConverter;
+import com.spring.demo.core.entity.VideoEntity;
+import com.spring.demo.core.model.VideoModel;
+import com.spring.demo.core.service.VideoService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+
+@Import({VideoService.class, VideoConverter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "persistence.optimistic-lock.max-attempts=50")
+class ConcurrentUpdateTest extends AbstractRepositoryTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentUpdateTest.class);
+
+    static final int ROWS = 4;
+
+    static final int WRITERS = 8;
+
+    static final int UPDATES = 100;
+
+    @Autowired
+    VideoService videoService;
+
+    @Autowired
+    VideoRepository videoRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    List<Long> ids;
+
+    @BeforeEach
+    void prepareRows() {
+        videoRepository.deleteAllInBatch();
+        ids = new ArrayList<>(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            ids.add(videoRepository.save(new VideoEntity("video-" + row, null)).getId());
+        }
+    }
+
+    @Test
+    void shouldNotLoseUpdatesWithOptimisticRetry() throws Exception {
+        long elapsed = run((id, description) -> videoService.update(id, new VideoModel(id, name(id), description)));
+
+        assertEquals(WRITERS * UPDATES, totalVersion());
+        LOGGER.info("Optimistic locking with retry: {} updates/s", throughput(elapsed));
+    }
+
+    @Test
+    void shouldNotLoseUpdatesWithPessimisticLock() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long elapsed = run((id, description) -> transaction.executeWithoutResult(status -> {
+            entityManager.find(VideoEntity.class, id, LockModeType.PESSIMISTIC_WRITE).setDescription(description);
+        }));
+
+        assertEquals(WRITERS * UPDATES, totalVersion());
+        LOGGER.info("Pessimistic locking: {} updates/s", throughput(elapsed));
+    }
+
+    private long run(BiConsumer<Long, String> update) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Callable<Void>> writers = new ArrayList<>(WRITERS);
+            for (int writer = 0; writer < WRITERS; writer++) {
+                final int current = writer;
+                writers.add(() -> {
+                    for (int i = 0; i < UPDATES; i++) {
+                        update.accept(ids.get((current + i) % ROWS), current + "-" + i);
+                    }
+                    return null;
+                });
+            }
+            long started = System.nanoTime();
+            for (Future<Void> result : executor.invokeAll(writers)) {
+                result.get();
+            }
+            return System.nanoTime() - started;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long totalVersion() {
+        return videoRepository.findAllById(ids).stream().mapToLong(VideoEntity::getVersion).sum();
+    }
+
+    private String name(Long id) {
+        return "video-" + ids.indexOf(id);
+    }
+
+    private static long throughput(long elapsedNanos) {
+        return Math.round(WRITERS * UPDATES * 1_000_000_000d / elapsedNanos);
+    }
+}
@@ -0,0 +1,87 @@
+package com.spring.demo.core.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.spring.demo.core.config.PersistenceConfiguration;
+import com.spring.demo.core.entity.AuthorityEntity;
+import com.spring.demo.core.entity.RoleEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Testable
+@DataJpaTest
+@Import(PersistenceConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(properties = {"spring.liquibase.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    AuthorityRepository authorityRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterBinder secondLevelCacheMetrics;
+
+    @Test
+    void shouldReadRoleAuthoritiesAfterAnAuthorityIsRemoved() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AuthorityEntity kept = new AuthorityEntity("kept", "cache:kept");
+        AuthorityEntity removed = new AuthorityEntity("removed", "cache:removed");
+        Long roleId = roleRepository.save(new RoleEntity("cached", new HashSet<>(Set.of(kept, removed)))).getId();
+        assertEquals(Set.of("cache:kept", "cache:removed"), transaction.execute(status -> grants(roleId)));
+
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from role_authority where authority_id = ?", removed.getId());
+            jdbcTemplate.update("delete from authorities where id = ?", removed.getId());
+            authorityRepository.evict(removed.getId());
+        });
+
+        assertEquals(Set.of("cache:kept"), transaction.execute(status -> grants(roleId)));
+    }
+
+    @Test
+    void shouldPublishRegionStatisticsWithoutHibernateStatistics() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(meterRegistry);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long roleId = roleRepository.save(new RoleEntity("metered", new HashSet<>())).getId();
+        transaction.execute(status -> grants(roleId));
+        transaction.execute(status -> grants(roleId));
+
+        String region = RoleEntity.class.getName();
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count() > 0);
+        meterRegistry.get("cache.gets").tag("cache", region).tag("result", "miss").functionCounter();
+        meterRegistry.get("cache.puts").tag("cache", region).functionCounter();
+    }
+
+    private Set<String> grants(Long roleId) {
+        return roleRepository.findById(roleId).orElseThrow().getAuthorities().stream().map(AuthorityEntity::getGrant)
+                        .collect(Collectors.toSet());
+    }
+}
@@ -2,15 +2,27 @@ package com.spring.demo.core.repository;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.spring.demo.core.entity.VideoEntity;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import jakarta.persistence.EntityManager;
 
 class VideoRepositoryTest extends AbstractRepositoryTest {
 
     @Autowired
     VideoRepository videoRepository;
 
+    @Autowired
+    EntityManager entityManager;
+
     @Test
     void shouldPersistVideos() {
         VideoEntity entity = new VideoEntity("video1", "descrption1");
@@ -22,4 +34,44 @@ class VideoRepositoryTest extends AbstractRepositoryTest {
         assertEquals(1L, videoRepository.count());
         assertEquals(entity, videoRepository.getReferenceById(entity.getId()));
     }
+
+    @Test
+    void shouldDeleteWithSingleStatement() {
+        List<VideoEntity> videos = videoRepository.saveAllAndFlush(List.of(new VideoEntity("video1", null), new VideoEntity("video2", null),
+                        new VideoEntity("video3", null), new VideoEntity("video4", null)));
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        statistics.clear();
+        assertEquals(1, videoRepository.deleteByIdInBatch(videos.get(0).getId()));
+        assertEquals(0, videoRepository.deleteByIdInBatch(videos.get(0).getId()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals(3, videoRepository.deleteAllByIdsInBatch(videos.stream().map(VideoEntity::getId).toList()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0L, videoRepository.count());
+    }
+
+    @Test
+    void shouldLoadReadPathsWithoutDirtyCheckingSnapshots() {
+        videoRepository.saveAllAndFlush(List.of(new VideoEntity("video1", null), new VideoEntity("video2", null)));
+        entityManager.clear();
+        Session session = entityManager.unwrap(Session.class);
+
+        List<VideoEntity> seeked = videoRepository.findAllByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+        assertEquals(2, seeked.size());
+        seeked.forEach(video -> assertTrue(session.isReadOnly(video)));
+        seeked.get(0).setName("changed");
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<VideoEntity> stream = videoRepository.stream(null, Sort.by(Sort.Direction.ASC, "id"), 10)) {
+            stream.forEach(video -> {
+                assertTrue(session.isReadOnly(video));
+                assertEquals(video.getId().equals(seeked.get(0).getId()) ? "video1" : "video2", video.getName());
+            });
+        }
+    }
 }
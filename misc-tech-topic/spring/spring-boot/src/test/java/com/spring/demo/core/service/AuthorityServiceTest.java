@@ -2,6 +2,7 @@ package com.spring.demo.core.service;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import com.spring.demo.core.converter.AuthorityConverter;
+import com.spring.demo.core.converter.PrincipalConverter;
 import com.spring.demo.core.repository.AuthorityRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.annotation.Testable;
@@ -21,6 +22,9 @@ class AuthorityServiceTest {
     @MockitoBean
     AuthorityConverter authorityConverter;
 
+    @MockitoBean
+    PrincipalConverter principalConverter;
+
     @Autowired
     AuthorityService authorityService;
 
@@ -1,6 +1,13 @@
 package com.spring.demo.core.service;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.spring.demo.core.converter.PrincipalConverter;
 import com.spring.demo.core.converter.RoleConverter;
 import com.spring.demo.core.repository.RoleRepository;
 import org.junit.jupiter.api.Test;
@@ -9,6 +16,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Testable
 @SpringJUnitConfig
@@ -21,6 +30,9 @@ class RoleServiceTest {
     @MockitoBean
     RoleConverter roleConverter;
 
+    @MockitoBean
+    PrincipalConverter principalConverter;
+
     @Autowired
     RoleService roleService;
 
@@ -33,4 +45,30 @@ class RoleServiceTest {
         assertNotNull(roleService.repository());
         assertNotNull(roleService.converter());
     }
+
+    @Test
+    void shouldEvictCachedRoleOnDelete() {
+        when(roleRepository.deleteByIdInBatch(1L)).thenReturn(1);
+
+        assertTrue(roleService.delete(1L));
+        verify(roleRepository, times(1)).deleteByIdInBatch(1L);
+        verify(roleRepository, times(1)).evict(1L);
+        verify(principalConverter, times(1)).evictRole(1L);
+    }
+
+    @Test
+    void shouldEvictCachedRoleAuthoritiesOnlyAfterCommit() {
+        when(roleRepository.deleteByIdInBatch(1L)).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(roleService.delete(1L));
+            verify(principalConverter, never()).evictRole(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(principalConverter, times(1)).evictRole(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.spring.demo.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import com.spring.demo.core.entity.UserEntity;
+import com.spring.demo.core.entity.VideoEntity;
+import com.spring.demo.core.model.VideoModel;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+
+@Testable
+class SearchPlanTest {
+
+    @Test
+    void shouldReuseCompiledPlanPerEntityAndDefinitions() {
+        SearchPlan<VideoEntity> plan = SearchPlan.of(VideoEntity.class, VideoModel.VideoCriteria.values());
+
+        assertSame(plan, SearchPlan.of(VideoEntity.class, VideoModel.VideoCriteria.values()));
+        assertNotSame(plan, SearchPlan.of(UserEntity.class, VideoModel.VideoCriteria.values()));
+        assertNotSame(plan, SearchPlan.of(VideoEntity.class, new VideoModel.VideoCriteria[] {VideoModel.VideoCriteria.NAME}));
+    }
+
+    @RepeatedTest(5)
+    void shouldChooseOverloadedSettersDeterministically() {
+        assertEquals(Long.class, SearchPlan.getTypeProperties(OverloadedEntity.class).get("count"));
+        assertEquals(Integer.class, SearchPlan.getTypeProperties(OverloadedEntity.class).get("limit"));
+    }
+
+    static class OverloadedEntity {
+
+        public Long getCount() {
+            return null;
+        }
+
+        public void setCount(String count) { /* no-op */ }
+
+        public void setCount(Long count) { /* no-op */ }
+
+        public void setLimit(String limit) { /* no-op */ }
+
+        public void setLimit(Integer limit) { /* no-op */ }
+    }
+}
@@ -1,14 +1,26 @@
 package com.spring.demo.core.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.spring.demo.core.config.support.CaffeineUserCache;
 import com.spring.demo.core.converter.UserConverter;
 import com.spring.demo.core.repository.UserRepository;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.annotation.Testable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Testable
 @SpringJUnitConfig
@@ -21,6 +33,9 @@ class UserServiceTest {
     @MockitoBean
     UserConverter userConverter;
 
+    @MockitoBean
+    CaffeineUserCache userCache;
+
     @Autowired
     UserService userService;
 
@@ -33,4 +48,48 @@ class UserServiceTest {
         assertNotNull(userService.repository());
         assertNotNull(userService.converter());
     }
+
+    @Test
+    void shouldEvictCachedPrincipalsOnDeleteWithoutLookup() {
+        when(userRepository.deleteByIdInBatch(1L)).thenReturn(1);
+
+        assertTrue(userService.delete(1L));
+        verify(userCache, times(1)).removeAllFromCache();
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void shouldDeleteUsersWithOneSelectAndOneDeletePerBatch() {
+        when(userRepository.findExistingIds(List.of(1L, 2L, 3L))).thenReturn(List.of(1L, 2L, 3L));
+        when(userRepository.deleteAllByIdsInBatch(List.of(1L, 2L, 3L))).thenReturn(3);
+
+        assertEquals(3, userService.deleteByIds(List.of(1L, 2L, 3L)));
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).findAllById(anyIterable());
+        verify(userRepository, times(1)).deleteAllByIdsInBatch(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void shouldEvictCachedPrincipalsOnlyAfterCommit() {
+        when(userRepository.deleteByIdInBatch(1L)).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(userService.delete(1L));
+            verify(userCache, never()).removeAllFromCache();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(userCache, times(1)).removeAllFromCache();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldClearCachedPrincipalsOnDeleteAll() {
+        userService.deleteAll();
+
+        verify(userCache, times(1)).removeAllFromCache();
+        verify(userRepository, never()).findAll();
+    }
 }
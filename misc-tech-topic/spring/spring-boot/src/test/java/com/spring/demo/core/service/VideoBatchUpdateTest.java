@@ -0,0 +1,63 @@
+package com.spring.demo.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import com.spring.demo.core.config.PersistenceConfiguration;
+import com.spring.demo.core.converter.VideoConverter;
+import com.spring.demo.core.entity.VideoEntity;
+import com.spring.demo.core.model.BatchResult;
+import com.spring.demo.core.model.VideoModel;
+import com.spring.demo.core.repository.VideoRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Testable
+@DataJpaTest
+@Import({PersistenceConfiguration.class, VideoService.class, VideoConverter.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(properties = {"spring.liquibase.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VideoBatchUpdateTest {
+
+    @Autowired
+    VideoService videoService;
+
+    @Autowired
+    VideoRepository videoRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldLeaveRejectedRowsUnchanged() {
+        Long valid = videoRepository.save(new VideoEntity("valid", "description")).getId();
+        Long invalid = videoRepository.save(new VideoEntity("invalid", "description")).getId();
+
+        BatchResult<VideoModel> result = videoService.updateAll(List.of(new VideoModel(valid, "renamed", null),
+                        new VideoModel(invalid, "x".repeat(VideoService.NAME_LENGTH + 1), null)), VideoModel::id);
+
+        assertEquals(List.of(valid), result.content().stream().map(VideoModel::id).toList());
+        assertEquals(List.of(invalid), result.failures().stream().map(BatchResult.Failure::id).toList());
+        assertEquals("renamed", jdbcTemplate.queryForObject("select name from videos where id = ?", String.class, valid));
+        assertEquals("invalid", jdbcTemplate.queryForObject("select name from videos where id = ?", String.class, invalid));
+    }
+
+    @Test
+    void shouldDeleteOnlyExistingIds() {
+        Long kept = videoRepository.save(new VideoEntity("kept", null)).getId();
+        Long deleted = videoRepository.save(new VideoEntity("deleted", null)).getId();
+
+        assertEquals(List.of(deleted), videoRepository.findExistingIds(List.of(deleted, deleted + 1000)));
+        assertEquals(1, videoService.deleteByIds(List.of(deleted, deleted + 1000)));
+        assertEquals(List.of(kept), videoRepository.findExistingIds(List.of(kept, deleted)));
+    }
+}
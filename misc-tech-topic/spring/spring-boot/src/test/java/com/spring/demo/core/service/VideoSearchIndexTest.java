@@ -0,0 +1,103 @@
+package com.spring.demo.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.spring.demo.core.entity.VideoEntity;
+import com.spring.demo.core.repository.VideoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.data.domain.Sort;
+
+@Testable
+class VideoSearchIndexTest {
+
+    VideoRepository videoRepository;
+
+    MeterRegistry meterRegistry;
+
+    VideoSearchIndex searchIndex;
+
+    @BeforeEach
+    void prepareIndex() {
+        videoRepository = mock(VideoRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        searchIndex = new VideoSearchIndex(videoRepository, meterRegistry);
+    }
+
+    @Test
+    void shouldRebuildIndexFromRepository() {
+        when(videoRepository.stream(isNull(), any(Sort.class), anyInt())).thenReturn(Stream.of(
+                        new VideoEntity(1L, "Funny cats", "cats doing things"),
+                        new VideoEntity(2L, "Dogs", "funny dogs")));
+
+        searchIndex.rebuild();
+
+        assertEquals(2, searchIndex.documents());
+        assertArrayEquals(new int[] {1, 2}, searchIndex.search("funny", VideoSearchIndex.Match.ALL));
+        assertEquals(1, meterRegistry.get("video.search.index.rebuild").timer().count());
+        assertNotNull(meterRegistry.get("video.search.index.memory").gauge());
+        assertTrue(meterRegistry.get("video.search.index.memory").gauge().value() > 0);
+    }
+
+    @Test
+    void shouldAnswerConjunctiveAndDisjunctiveQueries() {
+        searchIndex.index(3L, "Funny cats", "cats and dogs");
+        searchIndex.index(1L, "Funny dogs", null);
+        searchIndex.index(2L, "Cats", "sleeping");
+
+        assertArrayEquals(new int[] {1, 3}, searchIndex.search("FUNNY", VideoSearchIndex.Match.ALL));
+        assertArrayEquals(new int[] {3}, searchIndex.search("funny cats", VideoSearchIndex.Match.ALL));
+        assertArrayEquals(new int[] {3, 1, 2}, searchIndex.search("funny, cats", VideoSearchIndex.Match.ANY));
+        assertArrayEquals(new int[0], searchIndex.search("funny birds", VideoSearchIndex.Match.ALL));
+        assertArrayEquals(new int[0], searchIndex.search("  ", VideoSearchIndex.Match.ANY));
+    }
+
+    @Test
+    void shouldUpdateAndRemoveDocumentsIncrementally() {
+        searchIndex.index(1L, "Funny cats", null);
+        searchIndex.index(1L, "Sleepy dogs", null);
+
+        assertArrayEquals(new int[0], searchIndex.search("cats", VideoSearchIndex.Match.ANY));
+        assertArrayEquals(new int[] {1}, searchIndex.search("dogs", VideoSearchIndex.Match.ANY));
+
+        searchIndex.remove(1L);
+        assertEquals(0, searchIndex.documents());
+        assertEquals(0, searchIndex.terms());
+    }
+
+    @Test
+    void shouldKeepIncrementalUpdatesMadeDuringRebuild() {
+        searchIndex.index(1L, "Funny cats", null);
+        when(videoRepository.stream(isNull(), any(Sort.class), anyInt())).thenReturn(Stream.of(
+                        new VideoEntity(1L, "Funny cats", null),
+                        new VideoEntity(2L, "Sleepy dogs", null))
+                        .peek(entity -> {
+                            if (entity.getId() == 2L) {
+                                searchIndex.index(3L, "Funny birds", null);
+                                searchIndex.index(1L, "Sleepy cats", null);
+                                searchIndex.remove(2L);
+                            }
+                        }));
+
+        searchIndex.rebuild();
+
+        assertEquals(2, searchIndex.documents());
+        assertArrayEquals(new int[] {3}, searchIndex.search("funny", VideoSearchIndex.Match.ALL));
+        assertArrayEquals(new int[] {1}, searchIndex.search("sleepy", VideoSearchIndex.Match.ALL));
+        assertArrayEquals(new int[0], searchIndex.search("dogs", VideoSearchIndex.Match.ANY));
+
+        searchIndex.index(2L, "Sleepy dogs", null);
+        assertArrayEquals(new int[] {1, 2}, searchIndex.search("sleepy", VideoSearchIndex.Match.ALL));
+    }
+}
@@ -1,14 +1,54 @@
 package com.spring.demo.core.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.spring.demo.core.api.CriteriaCollection;
 import com.spring.demo.core.converter.VideoConverter;
+import com.spring.demo.core.entity.VideoEntity;
+import com.spring.demo.core.model.BatchResult;
+import com.spring.demo.core.model.CursorPage;
+import com.spring.demo.core.model.SearchCriteria;
+import com.spring.demo.core.model.VideoModel;
 import com.spring.demo.core.repository.VideoRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.annotation.Testable;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
 
 @Testable
 @SpringJUnitConfig
@@ -33,4 +73,171 @@ class VideoServiceTest {
         assertNotNull(videoService.repository());
         assertNotNull(videoService.converter());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSearchVideosWithTypedPredicates() {
+        VideoEntity entity = new VideoEntity(1L, "video", "description");
+        when(videoRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(entity)));
+        when(videoConverter.convertFrom(entity)).thenReturn(new VideoModel(1L, "video", "description"));
+
+        CriteriaCollection criteria = SearchCriteria.of(Map.of("id.from", "1", "name.prefix", "vid_", "description", " "));
+        Page<VideoModel> page = videoService.search(criteria, VideoModel.VideoCriteria.values(), PageRequest.of(0, 10));
+        assertEquals(1, page.getContent().size());
+
+        ArgumentCaptor<Specification<VideoEntity>> captor = ArgumentCaptor.forClass(Specification.class);
+        verify(videoRepository, times(1)).findAll(captor.capture(), any(Pageable.class));
+
+        Root<VideoEntity> root = mock(Root.class);
+        Path<Object> path = mock(Path.class);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        when(root.get(anyString())).thenReturn(path);
+        captor.getValue().toPredicate(root, mock(CriteriaQuery.class), cb);
+
+        verify(cb, times(1)).greaterThanOrEqualTo(any(Expression.class), eq(1L));
+        verify(cb, times(1)).like(any(Expression.class), eq("vid\\_%"), eq('\\'));
+        verify(cb, never()).equal(any(Expression.class), any(Object.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamAndDetachSearchedVideos() {
+        VideoEntity first = new VideoEntity(1L, "video", "description");
+        VideoEntity second = new VideoEntity(2L, "video", "description");
+        when(videoRepository.stream(any(Specification.class), any(Sort.class), anyInt())).thenReturn(Stream.of(first, second));
+        when(videoConverter.convertFrom(any(VideoEntity.class))).thenReturn(new VideoModel(1L, "video", "description"));
+
+        List<VideoModel> consumed = new ArrayList<>();
+        long count = videoService.search(SearchCriteria.of(Map.of("name", "video")), VideoModel.VideoCriteria.values(), Sort.unsorted(),
+                        consumed::add);
+
+        assertEquals(2, count);
+        assertEquals(2, consumed.size());
+        verify(videoRepository, times(1)).stream(any(Specification.class), any(Sort.class), eq(SearchService.STREAM_FETCH_SIZE));
+        verify(videoRepository, times(1)).detach(first);
+        verify(videoRepository, times(1)).detach(second);
+    }
+
+    @Test
+    void shouldSeekVideosAfterCursor() {
+        VideoEntity first = new VideoEntity(11L, "video", "description");
+        VideoEntity second = new VideoEntity(12L, "video", "description");
+        VideoEntity third = new VideoEntity(13L, "video", "description");
+        when(videoRepository.findAllByIdGreaterThanOrderByIdAsc(10L, Limit.of(3))).thenReturn(List.of(first, second, third));
+        when(videoConverter.convertFrom(any(VideoEntity.class))).thenReturn(new VideoModel(1L, "video", "description"));
+
+        CursorPage<VideoModel> page = videoService.seek(CursorPage.encode(10L), 2, false);
+
+        assertEquals(2, page.content().size());
+        assertEquals(12L, CursorPage.decode(page.next()));
+        assertNull(page.total());
+        verify(videoRepository, never()).count();
+    }
+
+    @Test
+    void shouldSearchVideosByTextWithoutSort() {
+        VideoEntity entity = new VideoEntity(1L, "video", "description");
+        when(videoRepository.findAllByText(eq("funny cats"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(entity)));
+        when(videoConverter.convertFrom(entity)).thenReturn(new VideoModel(1L, "video", "description"));
+
+        Page<VideoModel> page = videoService.searchText(" funny cats ", PageRequest.of(0, 10, Sort.by("name")));
+        assertEquals(1, page.getContent().size());
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(videoRepository, times(1)).findAllByText(eq("funny cats"), captor.capture());
+        assertTrue(captor.getValue().getSort().isUnsorted());
+
+        assertTrue(videoService.searchText(" ", PageRequest.of(0, 10)).isEmpty());
+        verify(videoRepository, times(1)).findAllByText(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCreateVideosInOneBatchAndReportFailures() {
+        VideoModel valid = new VideoModel(null, "video", "description");
+        VideoModel invalid = new VideoModel(5L, "other", "description");
+        VideoEntity entity = new VideoEntity("video", "description");
+        when(videoConverter.convertFrom(valid)).thenReturn(entity);
+        when(videoConverter.convertFrom(invalid)).thenReturn(new VideoEntity(5L, "other", "description"));
+        when(videoRepository.saveAll(any(Iterable.class))).thenAnswer(invocation -> new ArrayList<>(invocation.getArgument(0)));
+        when(videoConverter.convertFrom(entity)).thenReturn(new VideoModel(1L, "video", "description"));
+
+        BatchResult<VideoModel> result = videoService.createAll(Arrays.asList(valid, invalid, null));
+
+        assertEquals(1, result.content().size());
+        assertEquals(2, result.failures().size());
+        assertEquals(1, result.failures().get(0).index());
+        assertEquals(2, result.failures().get(1).index());
+        verify(videoRepository, times(1)).saveAll(List.of(entity));
+        verify(videoRepository, times(1)).flush();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUpdateVideosAndReportFailuresAtRequestIndexes() {
+        VideoEntity entity = new VideoEntity(1L, "video", "description");
+        when(videoRepository.findAllById(any(Iterable.class))).thenReturn(List.of(entity));
+        when(videoRepository.saveAll(any(Iterable.class))).thenAnswer(invocation -> new ArrayList<>(invocation.getArgument(0)));
+        when(videoConverter.convertFrom(entity)).thenReturn(new VideoModel(1L, "renamed", "description"));
+
+        List<VideoModel> videos = List.of(new VideoModel(2L, "first", null), new VideoModel(null, "missing", null),
+                        new VideoModel(1L, "renamed", "description"), new VideoModel(2L, "second", null), new VideoModel(3L, "unknown", null));
+        BatchResult<VideoModel> result = videoService.updateAll(videos, VideoModel::id);
+
+        assertEquals(List.of(new VideoModel(1L, "renamed", "description")), result.content());
+        assertEquals(List.of(0, 1, 3, 4), result.failures().stream().map(BatchResult.Failure::index).toList());
+        assertEquals(Arrays.asList(2L, null, 2L, 3L), result.failures().stream().map(BatchResult.Failure::id).toList());
+        verify(videoConverter, times(1)).updateEntity(eq(entity), any(VideoModel.class));
+        verify(videoRepository, times(1)).saveAll(List.of(entity));
+    }
+
+    @Test
+    void shouldDeleteExistingVideosAndReportMissingOnes() {
+        VideoEntity entity = new VideoEntity(1L, "video", "description");
+        when(videoRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(entity));
+
+        BatchResult<Long> result = videoService.deleteAll(List.of(1L, 2L));
+
+        assertEquals(List.of(1L), result.content());
+        assertEquals(1, result.failures().size());
+        assertEquals(2L, result.failures().get(0).id());
+        verify(videoRepository, times(1)).deleteAllByIdsInBatch(List.of(1L));
+    }
+
+    @Test
+    void shouldDeleteWithSingleStatementAndSkipHooksForMissingRows() {
+        when(videoRepository.deleteByIdInBatch(1L)).thenReturn(1);
+        when(videoRepository.deleteByIdInBatch(2L)).thenReturn(0);
+        when(videoRepository.findExistingIds(List.of(3L, 4L, 6L))).thenReturn(List.of(3L, 4L));
+        when(videoRepository.deleteAllByIdsInBatch(List.of(3L, 4L))).thenReturn(2);
+
+        assertTrue(videoService.delete(1L));
+        assertFalse(videoService.delete(2L));
+        assertEquals(2, videoService.deleteByIds(List.of(3L, 4L, 6L, 3L)));
+        assertEquals(0, videoService.deleteByIds(List.of()));
+
+        verify(videoRepository, never()).existsById(any());
+        verify(videoRepository, never()).deleteById(any());
+        verify(videoRepository, never()).findById(any());
+        verify(videoRepository, times(1)).deleteAllByIdsInBatch(any());
+        verify(videoRepository, times(1)).deleteAllByIdsInBatch(List.of(3L, 4L));
+        assertThrows(IllegalArgumentException.class, () -> videoService.deleteByIds(Arrays.asList(5L, null)));
+    }
+
+    @Test
+    void shouldVersionPagesFromTheirContent() {
+        PageRequest pageable = PageRequest.of(0, 2);
+        VideoEntity first = new VideoEntity(1L, "first", null);
+        VideoEntity second = new VideoEntity(2L, "second", null);
+        when(videoRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(first, second), pageable, 5));
+        String etag = videoService.findAllVersioned(pageable).version().weakEtag();
+
+        assertEquals(etag, videoService.findAllVersioned(pageable).version().weakEtag());
+        ReflectionTestUtils.setField(second, "version", 1L);
+        String updated = videoService.findAllVersioned(pageable).version().weakEtag();
+        assertNotEquals(etag, updated);
+        when(videoRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(first, second), pageable, 4));
+        assertNotEquals(updated, videoService.findAllVersioned(pageable).version().weakEtag());
+        verify(videoRepository, never()).count();
+    }
 }
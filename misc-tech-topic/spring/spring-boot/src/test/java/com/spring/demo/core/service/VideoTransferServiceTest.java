@@ -0,0 +1,166 @@
+package com.spring.demo.core.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.demo.core.api.CriteriaCollection;
+import com.spring.demo.core.model.BatchResult;
+import com.spring.demo.core.model.ImportReport;
+import com.spring.demo.core.model.SearchCriteria;
+import com.spring.demo.core.model.VideoModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+
+@Testable
+class VideoTransferServiceTest {
+
+    VideoService videoService;
+
+    MeterRegistry meterRegistry;
+
+    VideoTransferService transferService;
+
+    @BeforeEach
+    void prepareService() {
+        videoService = mock(VideoService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        transferService = new VideoTransferService(videoService, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldImportQuotedCsvAndReportRejectedRows() throws Exception {
+        when(videoService.createAll(anyList())).thenAnswer(invocation -> {
+            List<VideoModel> videos = invocation.getArgument(0);
+            return new BatchResult<>(videos.subList(0, 2), List.of(new BatchResult.Failure(2, null, "Video name must not be blank")));
+        });
+
+        String csv = "\"id\",\"name\",\"description\"\r\n"
+                        + "\"1\",\"Neon, Harbor\",\"A \"\"quoted\"\" story\"\r\n"
+                        + "\"2\",\"Clockwork\",\"first line\nsecond line\"\n"
+                        + "\"3\",\"\",\"missing name\"\n";
+        ImportReport report = transferService.importCsv(new StringReader(csv));
+
+        ArgumentCaptor<List<VideoModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(videoService, times(1)).createAll(captor.capture());
+        assertEquals(new VideoModel(null, "Neon, Harbor", "A \"quoted\" story"), captor.getValue().get(0));
+        assertEquals(new VideoModel(null, "Clockwork", "first line\nsecond line"), captor.getValue().get(1));
+
+        assertEquals(2, report.accepted());
+        assertEquals(1, report.rejected());
+        assertEquals(List.of(new ImportReport.Rejection(5, "Video name must not be blank")), report.rejections());
+        assertEquals(2, meterRegistry.get("video.import.rows").tag("outcome", "accepted").counter().count());
+    }
+
+    @Test
+    void shouldImportInBoundedChunksAndFallBackOnConstraintViolations() throws Exception {
+        when(videoService.createAll(anyList())).thenAnswer(invocation -> {
+            List<VideoModel> videos = invocation.getArgument(0);
+            if (videos.size() < VideoTransferService.CHUNK_SIZE) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return new BatchResult<>(List.copyOf(videos), List.of());
+        });
+        when(videoService.create(any(VideoModel.class))).thenThrow(new DataIntegrityViolationException("duplicate key"))
+                        .thenAnswer(invocation -> invocation.getArgument(0));
+
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < VideoTransferService.CHUNK_SIZE + 2; i++) {
+            lines.append("{\"name\":\"video ").append(i).append("\"}\n");
+        }
+        lines.append("not json\n");
+        ImportReport report = transferService.importJsonLines(new StringReader(lines.toString()));
+
+        verify(videoService, times(2)).createAll(anyList());
+        verify(videoService, times(2)).create(any(VideoModel.class));
+        assertEquals(VideoTransferService.CHUNK_SIZE + 1, report.accepted());
+        assertEquals(2, report.rejected());
+        assertEquals(VideoTransferService.CHUNK_SIZE + 1, report.rejections().get(0).line());
+        assertEquals(VideoTransferService.CHUNK_SIZE + 3, report.rejections().get(1).line());
+    }
+
+    @Test
+    void shouldRejectCsvWithoutNameColumn() {
+        assertThrows(IllegalArgumentException.class, () -> transferService.importCsv(new StringReader("id,title\n1,video\n")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExportQuotedCsv() throws Exception {
+        when(videoService.search(any(CriteriaCollection.class), any(), any(Sort.class), any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<VideoModel> consumer = invocation.getArgument(3);
+            consumer.accept(new VideoModel(1L, "Neon, Harbor", "A \"quoted\" story"));
+            consumer.accept(new VideoModel(2L, "Clockwork", null));
+            return 2L;
+        });
+
+        StringWriter output = new StringWriter();
+        assertEquals(2, transferService.exportCsv(SearchCriteria.empty(), output));
+        assertEquals("\"id\",\"name\",\"description\"\n\"1\",\"Neon, Harbor\",\"A \"\"quoted\"\" story\"\n\"2\",\"Clockwork\",\n",
+                        output.toString());
+
+        List<VideoModel> imported = new ArrayList<>();
+        when(videoService.createAll(anyList())).thenAnswer(invocation -> {
+            imported.addAll(invocation.getArgument(0));
+            return new BatchResult<>(List.of(), List.of());
+        });
+        transferService.importCsv(new StringReader(output.toString()));
+        assertEquals(List.of(new VideoModel(null, "Neon, Harbor", "A \"quoted\" story"), new VideoModel(null, "Clockwork", null)), imported);
+    }
+
+    @Test
+    void shouldRejectMalformedRecordsAndKeepImporting() throws Exception {
+        List<VideoModel> imported = new ArrayList<>();
+        when(videoService.createAll(anyList())).thenAnswer(invocation -> {
+            imported.addAll(invocation.getArgument(0));
+            return new BatchResult<>(List.copyOf(invocation.getArgument(0)), List.of());
+        });
+
+        String oversized = "x".repeat(VideoTransferService.MAXIMUM_RECORD_LENGTH + 1);
+        String csv = "name,description\n"
+                        + "first,\n"
+                        + "\"" + oversized + "\",\"spans\nlines\"\n"
+                        + "second,\n"
+                        + "\"unterminated,\n";
+        ImportReport report = transferService.importCsv(new StringReader(csv));
+
+        assertEquals(List.of(new VideoModel(null, "first", null), new VideoModel(null, "second", null)), imported);
+        assertEquals(2, report.accepted());
+        assertEquals(List.of(3L, 6L), report.rejections().stream().map(ImportReport.Rejection::line).toList());
+    }
+
+    @Test
+    void shouldRejectOversizedJsonLinesAndKeepImporting() throws Exception {
+        when(videoService.createAll(anyList()))
+                        .thenAnswer(invocation -> new BatchResult<>(List.copyOf(invocation.getArgument(0)), List.of()));
+
+        String oversized = "{\"name\":\"" + "x".repeat(VideoTransferService.MAXIMUM_RECORD_LENGTH) + "\"}";
+        String lines = "{\"name\":\"first\"}\r\n" + oversized + "\r\n{\"name\":\"second\"}\n";
+        ImportReport report = transferService.importJsonLines(new StringReader(lines));
+
+        assertEquals(2, report.accepted());
+        assertEquals(List.of(new ImportReport.Rejection(2, "Line 2 exceeds 8192 characters")), report.rejections());
+    }
+
+    @Test
+    void shouldRejectCsvWithMalformedHeader() {
+        assertThrows(IllegalArgumentException.class, () -> transferService.importCsv(new StringReader("\"name,description\n")));
+    }
+}
@@ -0,0 +1,57 @@
+package com.spring.demo.core.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+
+@Testable
+class IntObjectMapTest {
+
+    @Test
+    void shouldPutGetAndRemove() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        assertNull(map.put(1, "one"));
+        assertEquals("one", map.put(1, "uno"));
+        assertNull(map.put(-7, "minus seven"));
+        assertEquals("uno", map.get(1));
+        assertEquals("minus seven", map.get(-7));
+        assertNull(map.get(2));
+        assertEquals(2, map.size());
+
+        assertEquals("uno", map.remove(1));
+        assertNull(map.remove(1));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(-7));
+        assertThrows(IllegalArgumentException.class, () -> map.put(3, null));
+    }
+
+    @Test
+    void shouldMatchHashMapUnderRandomOperations() {
+        IntObjectMap<Integer> map = new IntObjectMap<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2048);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 2048; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
@@ -3,19 +3,40 @@ package com.spring.demo.core.web;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import com.spring.demo.core.api.CriteriaCollection;
+import com.spring.demo.core.model.BatchResult;
+import com.spring.demo.core.model.CursorPage;
+import com.spring.demo.core.model.ImportReport;
+import com.spring.demo.core.model.ResourceVersion;
+import com.spring.demo.core.model.UserModel;
+import com.spring.demo.core.model.VersionedPage;
 import com.spring.demo.core.model.VideoModel;
 import com.spring.demo.core.service.AuthorityService;
 import com.spring.demo.core.service.PrincipalService;
 import com.spring.demo.core.service.RoleService;
 import com.spring.demo.core.service.UserService;
+import com.spring.demo.core.service.VideoSearchIndex;
 import com.spring.demo.core.service.VideoService;
+import com.spring.demo.core.service.VideoTransferService;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.annotation.Testable;
@@ -26,10 +47,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @Testable
 @WithMockUser(value = "test-user", username = "admin", authorities = {"video:list"})
@@ -51,6 +78,9 @@ class RestfulControllerTest {
     @MockitoBean
     AuthorityService authorityService;
 
+    @MockitoBean
+    VideoTransferService videoTransferService;
+
     @Autowired
     MockMvc mvc;
 
@@ -58,6 +88,8 @@ class RestfulControllerTest {
     void prepareMockData() {
         Page<VideoModel> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 20), 0);
         when(videoService.findAll(any(Pageable.class))).thenReturn(emptyPage);
+        when(videoService.findAllVersioned(any(Pageable.class)))
+                        .thenReturn(new VersionedPage<>(emptyPage, new ResourceVersion(0, 0, null)));
     }
 
     @Test
@@ -69,10 +101,191 @@ class RestfulControllerTest {
                         .andExpect(jsonPath("$.totalElements").value(0));
 
         ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
-        verify(videoService).findAll(captor.capture());
+        verify(videoService).findAllVersioned(captor.capture());
 
         Pageable pageable = captor.getValue();
         assertThat(pageable.getPageNumber()).isZero();
         assertThat(pageable.getPageSize()).isEqualTo(20);
     }
+
+    @Test
+    void shouldReturnPagedSearchedVideos() throws Exception {
+        Page<VideoModel> page = new PageImpl<>(List.of(new VideoModel(1L, "video", "description")), PageRequest.of(1, 5), 6);
+        when(videoService.search(any(CriteriaCollection.class), any(), any(Pageable.class))).thenReturn(page);
+
+        mvc.perform(get("/api/find-videos").param("name.prefix", "vid").param("page", "2").param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(1)))
+                        .andExpect(jsonPath("$.totalElements").value(6));
+
+        ArgumentCaptor<CriteriaCollection> criteria = ArgumentCaptor.forClass(CriteriaCollection.class);
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(videoService).search(criteria.capture(), any(), captor.capture());
+
+        assertThat(criteria.getValue().<String>getRaw("name.prefix")).isEqualTo("vid");
+        assertThat(captor.getValue().getPageNumber()).isEqualTo(1);
+        assertThat(captor.getValue().getPageSize()).isEqualTo(5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReturnSlicedSearchedVideosWithoutCount() throws Exception {
+        Slice<VideoModel> slice = new SliceImpl<>(List.of(new VideoModel(1L, "video", "description")), PageRequest.of(0, 5), true);
+        when(videoService.searchSlice(any(CriteriaCollection.class), any(), any(Pageable.class))).thenReturn(slice);
+
+        mvc.perform(get("/api/find-videos").param("name", "video").param("size", "5").param("count", "false")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(1)))
+                        .andExpect(jsonPath("$.last").value(false));
+
+        verify(videoService, never()).search(any(CriteriaCollection.class), any(), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamSearchedVideosAsJsonLines() throws Exception {
+        when(videoService.search(any(CriteriaCollection.class), any(), any(Sort.class), any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<VideoModel> consumer = invocation.getArgument(3);
+            consumer.accept(new VideoModel(1L, "first", "description"));
+            consumer.accept(new VideoModel(2L, "second", "description"));
+            return 2L;
+        });
+
+        MvcResult result = mvc.perform(get("/api/find-videos").param("name.prefix", "vid").accept(MediaType.APPLICATION_NDJSON))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+        String body = mvc.perform(asyncDispatch(result))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+
+        assertThat(body.lines().toList()).hasSize(2).allMatch(line -> line.startsWith("{"));
+    }
+
+    @Test
+    void shouldSeekVideosWithCursor() throws Exception {
+        CursorPage<VideoModel> page = new CursorPage<>(List.of(new VideoModel(1L, "video", "description")), CursorPage.encode(1L), null);
+        when(videoService.seek(any(), anyInt(), anyBoolean())).thenReturn(page);
+
+        mvc.perform(get("/api/videos/seek").param("size", "1").accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(1)))
+                        .andExpect(jsonPath("$.next").value(CursorPage.encode(1L)))
+                        .andExpect(jsonPath("$.total").doesNotExist());
+
+        verify(videoService).seek(null, 1, false);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() throws Exception {
+        when(videoService.seek(any(), anyInt(), anyBoolean())).thenThrow(new IllegalArgumentException("Malformed cursor"));
+
+        mvc.perform(get("/api/videos/seek").param("after", "***").accept(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnRankedTextSearchResults() throws Exception {
+        Page<VideoModel> page = new PageImpl<>(List.of(new VideoModel(1L, "video", "description")), PageRequest.of(0, 10), 1);
+        when(videoService.searchText(any(), any(), any(Pageable.class))).thenReturn(page);
+
+        mvc.perform(get("/api/search-videos").param("q", "funny cats").param("match", "ANY").accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(1)));
+
+        verify(videoService).searchText("funny cats", VideoSearchIndex.Match.ANY, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void shouldReportPartialBatchFailuresWithMultiStatus() throws Exception {
+        when(videoService.deleteAll(List.of(1L, 2L))).thenReturn(new BatchResult<>(List.of(1L),
+                        List.of(new BatchResult.Failure(1, 2L, "Entity with id 2 not found"))));
+
+        mvc.perform(post("/api/delete-videos").with(csrf()).contentType(MediaType.APPLICATION_JSON).content("[1, 2]"))
+                        .andExpect(status().isMultiStatus())
+                        .andExpect(jsonPath("$.content", hasSize(1)))
+                        .andExpect(jsonPath("$.failures[0].index").value(1))
+                        .andExpect(jsonPath("$.failures[0].id").value(2));
+    }
+
+    @Test
+    void shouldAnswerExhaustedUpdateConflictWithConflict() throws Exception {
+        when(videoService.update(any(), any(VideoModel.class))).thenThrow(new ObjectOptimisticLockingFailureException(VideoModel.class, 1L));
+
+        mvc.perform(post("/api/update-video").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1,\"name\":\"video\"}"))
+                        .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldImportCsvVideosAndReportRejections() throws Exception {
+        when(videoTransferService.importCsv(any())).thenReturn(new ImportReport(2, 1, 10, 200d,
+                        List.of(new ImportReport.Rejection(4, "Video name must not be blank"))));
+
+        mvc.perform(post("/api/videos/import").with(csrf()).contentType("text/csv").content("name\nfirst\nsecond\n\"\"\n"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.accepted").value(2))
+                        .andExpect(jsonPath("$.rejections[0].line").value(4));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @WithMockUser(username = "admin", authorities = {"user:list"})
+    void shouldStreamUsersAsJsonArray() throws Exception {
+        when(userService.search(any(CriteriaCollection.class), any(), any(Sort.class), any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<UserModel> consumer = invocation.getArgument(3);
+            consumer.accept(new UserModel(1L, "first", null, null));
+            consumer.accept(new UserModel(2L, "second", null, null));
+            return 2L;
+        });
+
+        MvcResult result = mvc.perform(get("/api/users").param("stream", "true").accept(MediaType.APPLICATION_JSON))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                        .andExpect(jsonPath("$", hasSize(2)))
+                        .andExpect(jsonPath("$[1].username").value("second"));
+        verify(userService, never()).getAll();
+    }
+
+    @Test
+    void shouldAnswerUnchangedVideoPageWithNotModified() throws Exception {
+        ResourceVersion version = new ResourceVersion(30, 42, Instant.parse("2026-01-01T00:00:00Z"));
+        when(videoService.findAllVersioned(any(Pageable.class)))
+                        .thenReturn(new VersionedPage<>(new PageImpl<>(List.of(), PageRequest.of(0, 10), 30), version));
+
+        String etag = mvc.perform(get("/api/videos").accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string(HttpHeaders.ETAG, version.weakEtag()))
+                        .andReturn()
+                        .getResponse()
+                        .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/videos").header(HttpHeaders.IF_NONE_MATCH, etag).accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotModified());
+        verify(videoService, times(2)).findAllVersioned(any(Pageable.class));
+        verify(videoService, never()).version(any());
+    }
+
+    @Test
+    void shouldAnswerUnchangedVideoWithNotModified() throws Exception {
+        ResourceVersion version = new ResourceVersion(1, 3, Instant.parse("2026-01-01T00:00:00Z"));
+        when(videoService.version(1L)).thenReturn(Optional.of(version));
+        when(videoService.version(2L)).thenReturn(Optional.empty());
+
+        mvc.perform(get("/api/video/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\"").accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotModified());
+        mvc.perform(get("/api/video/1").header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 2026 00:00:00 GMT")
+                        .accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isNotModified());
+        mvc.perform(get("/api/video/2").accept(MediaType.APPLICATION_JSON)).andExpect(status().isNotFound());
+        verify(videoService, never()).get(any());
+    }
 }
@@ -0,0 +1,74 @@
+package com.spring.demo.core.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.demo.core.config.SecurityConfiguration;
+import com.spring.demo.core.config.model.MutableUserDetails;
+import com.spring.demo.core.service.PrincipalService;
+import com.spring.demo.core.service.TokenService;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.annotation.Testable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@Testable
+@Import({SecurityConfiguration.class, TokenService.class})
+@WebMvcTest(controllers = TokenController.class)
+class TokenControllerTest {
+
+    @MockitoBean
+    PrincipalService principalService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    MockMvc mvc;
+
+    @BeforeEach
+    void prepareMockData() {
+        String password = new BCryptPasswordEncoder(4).encode("admin");
+        when(principalService.getPrincipal("admin"))
+                        .thenReturn(Optional.of(new MutableUserDetails("admin", password, List.of(new SimpleGrantedAuthority("user:list")))));
+        when(principalService.updatePrincipal(eq("admin"), any())).thenAnswer(invocation -> Optional.of(invocation.getArgument(1)));
+    }
+
+    @Test
+    void shouldIssueTokenForBasicCredentials() throws Exception {
+        mvc.perform(post("/api/token").with(httpBasic("admin", "admin")))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                        .andExpect(jsonPath("$.accessToken").isNotEmpty());
+    }
+
+    @Test
+    void shouldRejectInvalidCredentialsAndTokens() throws Exception {
+        mvc.perform(post("/api/token").with(httpBasic("admin", "wrong"))).andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/token").header(HttpHeaders.AUTHORIZATION, "Bearer invalid")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldAuthenticateWithIssuedTokenButNotReissue() throws Exception {
+        String body = mvc.perform(post("/api/token").with(httpBasic("admin", "admin"))).andReturn().getResponse().getContentAsString();
+        JsonNode token = objectMapper.readTree(body);
+
+        mvc.perform(post("/api/token").header(HttpHeaders.AUTHORIZATION, "Bearer " + token.get("accessToken").asText()))
+                        .andExpect(status().isForbidden());
+    }
+}